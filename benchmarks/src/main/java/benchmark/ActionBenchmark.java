@@ -0,0 +1,86 @@
+package benchmark;
+
+import action.BuildAction;
+import action.MoveAction;
+import board.Board;
+import board.Location;
+import ground.Floor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.Player;
+import player.Worker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the board actions the game controller runs for every click: MoveAction.execute and BuildAction.execute.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ActionBenchmark {
+    private Board board;
+    private Worker worker;
+    private Location first;
+    private Location second;
+    private MoveAction toFirst;
+    private MoveAction toSecond;
+    private Location buildAt;
+    private BuildAction build;
+
+    /**
+     * Places one worker on the first cell of an empty board.
+     *
+     * @throws Exception if the map cannot be read
+     */
+    @Setup
+    public void setUp() throws Exception {
+        board = new Board(Fixtures.MAP, 1);
+        Player player = Fixtures.newPlayers(1).getFirst();
+        worker = player.getWorkers().getFirst();
+        first = board.locationAt(0);
+        second = first.getExits().getFirst();
+        first.addWorker(worker);
+        toFirst = new MoveAction(first);
+        toSecond = new MoveAction(second);
+        buildAt = first.getExits().getLast();
+        build = new BuildAction(buildAt);
+    }
+
+    /**
+     * Moves the worker to the neighbouring cell and back, two moves per call.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void moveAction() {
+        toSecond.execute(worker, board, first);
+        toFirst.execute(worker, board, second);
+    }
+
+    /**
+     * Builds a level on the same cell, clearing it back to a floor once it has a dome,
+     * so every call is one of the four builds of a tower.
+     */
+    @Benchmark
+    public void buildAction() {
+        if (buildAt.getGround().hasDome()) {
+            buildAt.setGround(Floor.FLOOR);
+        }
+        build.execute(worker, board, first);
+    }
+}
@@ -0,0 +1,122 @@
+package benchmark;
+
+import board.Board;
+import board.Location;
+import game.BoardView;
+import game.GameComponentUI;
+import player.Worker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a Board from map.txt and painting its view, the former Board.refreshBoardUI,
+ * on a board with towers and eight workers. Swing runs headless, so the view paints into an offscreen image.
+ * moveAndRefresh measures the refresh after a move, which repaints the two changed locations only.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoardBenchmark {
+    private static final int PLAYERS = 4;
+    private static final int TURNS = 20;
+    private static final int CELL_SIZE = 120;
+
+    private Board board;
+    private BoardView view;
+    private BufferedImage image;
+    private Worker worker;
+    private Location from;
+    private Location to;
+
+    /**
+     * Creates the view of a game after a few turns.
+     *
+     * @throws Exception if the map cannot be read
+     */
+    @Setup
+    public void setUp() throws Exception {
+        GameComponentUI.setLocationButtonWidth(CELL_SIZE);
+        GameComponentUI.setLocationButtonHeight(CELL_SIZE);
+        board = Fixtures.newWorld(PLAYERS, TURNS, 1).getBOARD();
+        view = new BoardView(board);
+        Dimension size = view.getPreferredSize();
+        view.setSize(size);
+        image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+        view.refresh();
+
+        // any worker with a free neighbour, to be moved back and forth
+        for (Location location : board.allLocations()) {
+            if (worker != null) {
+                break;
+            }
+            if (!location.hasWorker()) {
+                continue;
+            }
+            for (Location exit : location.getExits()) {
+                if (!exit.hasWorker()) {
+                    worker = location.getWorker();
+                    from = location;
+                    to = exit;
+                    break;
+                }
+            }
+        }
+        if (worker == null) {
+            throw new IllegalStateException("No worker can move on the benchmark board.");
+        }
+    }
+
+    /**
+     * Reads map.txt and builds the board with its locations and exits.
+     *
+     * @return the board
+     * @throws Exception if the map cannot be read
+     */
+    @Benchmark
+    public Board constructBoard() throws Exception {
+        return new Board(Fixtures.MAP, PLAYERS);
+    }
+
+    /**
+     * Redraws every location of the board from the model.
+     */
+    @Benchmark
+    public void refreshBoardView() {
+        Graphics2D graphics = image.createGraphics();
+        view.paint(graphics);
+        graphics.dispose();
+    }
+
+    /**
+     * Moves a worker to a neighbour and back, refreshing the view after each move.
+     *
+     * @return the number of location repaints so far
+     */
+    @Benchmark
+    public long moveAndRefresh() {
+        board.moveWorker(worker, to);
+        view.refresh();
+        board.moveWorker(worker, from);
+        view.refresh();
+        return view.getCellRepaints();
+    }
+}
@@ -0,0 +1,124 @@
+package benchmark;
+
+import board.Board;
+import board.Location;
+import board.Topology;
+import engine.GameState;
+import engine.MoveGenerator;
+import game.World;
+import player.Player;
+import player.Worker;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sets up the boards and games measured by the benchmarks, on the standard map.txt.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class Fixtures {
+    /**
+     * The standard board of the game.
+     */
+    public static final URL MAP = Fixtures.class.getResource("/resources/map.txt");
+
+    private static final int WORKERS_PER_PLAYER = 2;
+
+    /**
+     * Constructor for the Fixtures class.
+     * This constructor is private to prevent instantiation,
+     */
+    private Fixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Creates players with two workers each.
+     *
+     * @param count the number of players
+     * @return the players, with ids from 1
+     */
+    public static List<Player> newPlayers(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            Player player = new Player(id, Fixtures.class.getResource("/resources/player" + id + ".png"));
+            for (int i = 0; i < WORKERS_PER_PLAYER; i++) {
+                player.addWorker(new Worker(player));
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Writes a square map with a regular pattern of holes to a temporary file, deleted when the JVM exits.
+     * One square in seven is a hole, so cells have every degree up to that of the topology.
+     *
+     * @param side the number of rows and columns
+     * @param topology the topology named in the header of the map
+     * @return the map file
+     * @throws IOException if the file cannot be written
+     */
+    public static URL squareMap(int side, Topology topology) throws IOException {
+        StringBuilder map = new StringBuilder(side * (side + 1) + Topology.HEADER.length() + 16);
+        map.append(Topology.HEADER).append(' ').append(topology.getNAME()).append('\n');
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                map.append((y * side + x) % 7 == 6 ? 'O' : 'X');
+            }
+            map.append('\n');
+        }
+        Path file = Files.createTempFile("santorini-map-" + side, ".txt");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, map);
+        return file.toUri().toURL();
+    }
+
+    /**
+     * Sets up a game without god cards and plays random turns on the board, never a winning one,
+     * so that the board has towers and the game is still running.
+     *
+     * @param playerCount the number of players
+     * @param turns the number of turns to play
+     * @param seed the seed of the worker locations and random turns
+     * @return the world of the game
+     * @throws Exception if the map cannot be read
+     */
+    public static World newWorld(int playerCount, int turns, long seed) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed);
+        World world = new World(new Board(MAP, playerCount), null, random.split());
+        world.initializeGame(newPlayers(playerCount), WORKERS_PER_PLAYER, List.of());
+        world.nextPlayer();
+
+        MoveGenerator generator = new MoveGenerator();
+        Board board = world.getBOARD();
+        for (int turn = 0; turn < turns; turn++) {
+            GameState state = world.snapshot();
+            int[] buffer = new int[MoveGenerator.capacityFor(state)];
+            int count = generator.generate(state, buffer);
+            List<Integer> building = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (buffer[i * MoveGenerator.TURN_SIZE + MoveGenerator.BUILD] != GameState.NONE) {
+                    building.add(i);
+                }
+            }
+            if (building.isEmpty()) {
+                break;
+            }
+            int offset = building.get(random.nextInt(building.size())) * MoveGenerator.TURN_SIZE;
+            Location from = board.locationAt(state.getWorkerCell(buffer[offset + MoveGenerator.WORKER]));
+            Location to = board.locationAt(buffer[offset + MoveGenerator.MOVE]);
+            world.processMove(from, to);
+            world.processBuild(to, board.locationAt(buffer[offset + MoveGenerator.BUILD]));
+            world.nextPlayer();
+        }
+        return world;
+    }
+}
@@ -0,0 +1,128 @@
+package benchmark;
+
+import ai.AlphaBetaSearch;
+import ai.PositionCache;
+import ai.SearchResult;
+import engine.GameState;
+import engine.MoveGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the headless engine: turn generation, whole random games from the start to the end,
+ * and a fixed-depth alpha-beta search of a two-player position.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+    private static final int SEARCH_DEPTH = 3;
+    private static final int SEARCH_CACHE_MB = 4;
+
+    @Param({"2", "4"})
+    private int players;
+
+    private final MoveGenerator generator = new MoveGenerator();
+    private final SplittableRandom random = new SplittableRandom(1);
+    private GameState start;
+    private GameState game;
+    private int[] turns;
+
+    /**
+     * Sets up the starting position.
+     *
+     * @throws Exception if the map cannot be read
+     */
+    @Setup
+    public void setUp() throws Exception {
+        start = Fixtures.newWorld(players, 0, 1).snapshot();
+        game = new GameState(start);
+        turns = new int[MoveGenerator.capacityFor(start)];
+    }
+
+    /**
+     * Generates every turn of the first player at the start.
+     *
+     * @return the number of turns
+     */
+    @Benchmark
+    public int generateTurns() {
+        return generator.generate(start, turns);
+    }
+
+    /**
+     * Plays a game of uniformly random turns to the end.
+     *
+     * @return the winner, or GameState.NONE
+     */
+    @Benchmark
+    public int randomGame() {
+        game.copyFrom(start);
+        while (!game.isGameOver()) {
+            int count = generator.generate(game, turns);
+            if (count == 0) {
+                game.eliminateCurrentPlayer();
+            } else {
+                generator.play(game, turns, random.nextInt(count));
+            }
+        }
+        return game.getWinner();
+    }
+
+    /**
+     * Searches the two-player starting position to a fixed depth.
+     *
+     * @param search the search and its position
+     * @return the search result
+     */
+    @Benchmark
+    public SearchResult alphaBetaSearch(Search search) {
+        return search.SEARCH.search(new GameState(search.root), Long.MAX_VALUE, SEARCH_DEPTH);
+    }
+
+    /**
+     * A search with its own cache, emptied before every call so that each search starts cold.
+     */
+    @State(Scope.Thread)
+    public static class Search {
+        private final AlphaBetaSearch SEARCH = new AlphaBetaSearch(new PositionCache(SEARCH_CACHE_MB));
+        private GameState root;
+
+        /**
+         * Sets up the two-player starting position.
+         *
+         * @throws Exception if the map cannot be read
+         */
+        @Setup
+        public void setUp() throws Exception {
+            root = Fixtures.newWorld(2, 0, 1).snapshot();
+        }
+
+        /**
+         * Empties the position cache.
+         */
+        @Setup(Level.Invocation)
+        public void clearCache() {
+            SEARCH.getCACHE().clear();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package benchmark;
+
+import board.Board;
+import engine.GameState;
+import game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import player.Player;
+import player.Worker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-of-turn rule checks: the trapped-player check of GameController.checkLosingPlayer on the
+ * board, against the scan of every worker's exits it replaced and the same scan on a GameState, and World.isGameOver.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RulesBenchmark {
+    private static final int TURNS = 20;
+
+    @Param({"2", "4", "8"})
+    private int players;
+
+    private World world;
+    private GameState state;
+    private GameState scratch;
+
+    /**
+     * Sets up a game after a few turns.
+     *
+     * @throws Exception if the map cannot be read
+     */
+    @Setup
+    public void setUp() throws Exception {
+        world = Fixtures.newWorld(players, TURNS, 1);
+        state = world.snapshot();
+        scratch = new GameState(state);
+    }
+
+    /**
+     * Finds the players whose workers can't move, as checkLosingPlayer does before its dialogs,
+     * from the mobility counters of the board.
+     *
+     * @return a bit per trapped player
+     */
+    @Benchmark
+    public long losingPlayerCheck() {
+        long trapped = 0L;
+        int index = 0;
+        Board board = world.getBOARD();
+        for (Player player : world.getPLAYERS()) {
+            if (board.isTrapped(player)) {
+                trapped |= 1L << index;
+            }
+            index++;
+        }
+        return trapped;
+    }
+
+    /**
+     * Finds the same players by scanning the exits of every worker, as checkLosingPlayer used to.
+     *
+     * @return a bit per trapped player
+     */
+    @Benchmark
+    public long losingPlayerScan() {
+        long trapped = 0L;
+        int index = 0;
+        Board board = world.getBOARD();
+        int[] offsets = board.getADJACENCY().getOFFSETS();
+        int[] neighbours = board.getADJACENCY().getNEIGHBOURS();
+        for (Player player : world.getPLAYERS()) {
+            boolean lose = true;
+            for (Worker worker : player.getWorkers()) {
+                int from = board.locationOfWorker(worker).getCELL_INDEX();
+                for (int i = offsets[from]; i < offsets[from + 1] && lose; i++) {
+                    if (board.locationAt(neighbours[i]).canWorkerTravel(worker)) {
+                        lose = false;
+                    }
+                }
+            }
+            if (lose) {
+                trapped |= 1L << index;
+            }
+            index++;
+        }
+        return trapped;
+    }
+
+    /**
+     * Runs the same scan on a game state, including the copy it works on.
+     *
+     * @return the number of players left
+     */
+    @Benchmark
+    public int eliminateTrappedPlayers() {
+        scratch.copyFrom(state);
+        scratch.eliminateTrappedPlayers();
+        return scratch.getRemainingPlayerCount();
+    }
+
+    /**
+     * Checks every worker for the WIN capability.
+     *
+     * @return true if a player has won
+     */
+    @Benchmark
+    public boolean worldIsGameOver() {
+        return world.isGameOver();
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import board.Adjacency;
+import board.Board;
+import board.Topology;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures compiling the board topology on very large square maps of every Topology: the whole Board construction
+ * from the map file, and the Adjacency alone from the grid of cell indices.
+ * Run with -prof gc for the bytes allocated per build; the retained adjacency is 4 bytes per cell plus 4 per exit.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopologyBenchmark {
+    private static final int PLAYERS = 2;
+
+    @Param({"100", "1000", "2000"})
+    private int side;
+
+    @Param({"SQUARE_8", "SQUARE_4", "HEX", "TORUS"})
+    private Topology topology;
+
+    private URL map;
+    private int[] cellGrid;
+    private int cellCount;
+
+    /**
+     * Writes the map and lays out its cell indices.
+     *
+     * @throws Exception if the map cannot be written or read
+     */
+    @Setup
+    public void setUp() throws Exception {
+        map = Fixtures.squareMap(side, topology);
+        Board board = new Board(map, PLAYERS);
+        cellCount = board.getCellCount();
+        cellGrid = new int[side * side];
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                cellGrid[y * side + x] = board.cellAt(x, y);
+            }
+        }
+    }
+
+    /**
+     * Reads the map and builds the board with its locations and adjacency.
+     *
+     * @return the board
+     * @throws Exception if the map cannot be read
+     */
+    @Benchmark
+    public Board constructBoard() throws Exception {
+        return new Board(map, PLAYERS);
+    }
+
+    /**
+     * Compiles the adjacency of the map's cells.
+     *
+     * @return the adjacency
+     */
+    @Benchmark
+    public Adjacency compileAdjacency() {
+        return Adjacency.ofGrid(cellGrid, side, side, cellCount, topology);
+    }
+}
@@ -1,3 +1,6 @@
+import ai.Bot;
+import ai.LazySmpBot;
+import ai.MctsBot;
 import board.Board;
 import game.GameComponentUI;
 import game.GameController;
@@ -8,15 +11,16 @@ import god.GodCard;
 import god.Zeus;
 import game.GameManager;
 import leaderboard.LeaderboardUI;
+import player.ComputerPlayer;
 import player.Player;
 import player.Worker;
+import simulator.SelfPlaySimulator;
 import utility.MultiplayerUtils;
 
 import javax.swing.*;
-import java.io.IOException;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -29,7 +33,13 @@ import java.util.List;
  * @version 2.0
  */
 public class Santorini {
-    public static void main(String[] args) throws IOException, URISyntaxException {
+    public static void main(String[] args) throws Exception {
+
+        // Headless self-play: java Santorini --simulate games=1000 players=2 bots=random ...
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            SelfPlaySimulator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
 
         // Button size
         int buttonWidth = 120;
@@ -57,16 +67,15 @@ public class Santorini {
         URL playerIconPath7 = Santorini.class.getResource("/resources/player7.png");
         URL playerIconPath8 = Santorini.class.getResource("/resources/player8.png");
 
-        // List of Players for this round of game
-        List<Player> fullPlayerList = List.of(
-                new Player(1, playerIconPath1),
-                new Player(2, playerIconPath2),
-                new Player(3, playerIconPath3),
-                new Player(4, playerIconPath4),
-                new Player(5, playerIconPath5),
-                new Player(6, playerIconPath6),
-                new Player(7, playerIconPath7),
-                new Player(8, playerIconPath8)
+        List<URL> playerIconPaths = List.of(
+                playerIconPath1,
+                playerIconPath2,
+                playerIconPath3,
+                playerIconPath4,
+                playerIconPath5,
+                playerIconPath6,
+                playerIconPath7,
+                playerIconPath8
         );
 
         int minPlayer = 2;
@@ -79,8 +88,31 @@ public class Santorini {
             return;
         }
 
+        int numComputerPlayers = MultiplayerUtils.askComputerPlayerNumber(numPlayers);
+
+        if (numComputerPlayers == -1) {
+            return;
+        }
 
-        List<Player> playerList = new ArrayList<>(fullPlayerList.subList(0, numPlayers));
+        // Thinking time of a computer player for each turn
+        long computerTimeBudgetMillis = 1000;
+
+        // Search threads of a computer player
+        int computerThreads = Runtime.getRuntime().availableProcessors();
+
+        // List of Players for this round of game, the last ones played by the computer
+        List<Player> playerList = new ArrayList<>();
+        for (int id = 1; id <= numPlayers; id++) {
+            URL iconPath = playerIconPaths.get(id - 1);
+            if (id > numPlayers - numComputerPlayers) {
+                // alpha-beta assumes one opponent, so larger games are searched by Monte Carlo playouts
+                Bot bot = numPlayers > 2 ? new MctsBot(computerTimeBudgetMillis, computerThreads)
+                        : new LazySmpBot(computerTimeBudgetMillis, computerThreads);
+                playerList.add(new ComputerPlayer(id, iconPath, bot));
+            } else {
+                playerList.add(new Player(id, iconPath));
+            }
+        }
 
 
         // Number of Workers for each player on this round
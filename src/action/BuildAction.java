@@ -2,6 +2,7 @@ package action;
 
 import board.Board;
 import board.Location;
+import engine.Zobrist;
 import ground.Ground;
 import player.Worker;
 
@@ -42,7 +43,12 @@ public class BuildAction extends Action {
 
 //        if (!board.isWorkerAt(toLocation)) {
             Ground groundToBuild = toLocation.getGround();
+            Zobrist zobrist = board.getZOBRIST();
+            int cell = toLocation.getCELL_INDEX();
+            long keyBefore = zobrist.ground(cell, groundToBuild.getLevel(), groundToBuild.hasDome());
             groundToBuild.buildUp(toLocation);
+            Ground builtGround = toLocation.getGround();
+            board.updateZobristKey(keyBefore ^ zobrist.ground(cell, builtGround.getLevel(), builtGround.hasDome()));
 //        }
     }
 }
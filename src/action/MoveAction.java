@@ -4,6 +4,7 @@ import board.Board;
 import board.Location;
 import capability.Capability;
 import capability.CapabilityController;
+import engine.Zobrist;
 import ground.Ground;
 import player.Worker;
 
@@ -50,10 +51,14 @@ public class MoveAction extends Action {
         // Move the worker to the new location
         board.moveWorker(worker, toLocation);
 
+        Zobrist zobrist = board.getZOBRIST();
+        int playerId = worker.getPlayer().getID();
+        board.updateZobristKey(zobrist.worker(fromLocation.getCELL_INDEX(), playerId) ^ zobrist.worker(toLocation.getCELL_INDEX(), playerId));
+
         CapabilityController workerCap = worker.getCAPABILITIES_CONTROLLER();
         Ground toGround = toLocation.getGround();
-        workerCap.addCapability(toGround.getCapabilities());
-        workerCap.removeCapability(toGround.getLostCapabilities());
+        workerCap.addCapabilities(toGround.getCapabilityMask());
+        workerCap.removeCapabilities(toGround.getLostCapabilityMask());
 
 
         if (fromLocation.getGround().getLevel() == 3 && toLocation.getGround().getLevel() == 3) {
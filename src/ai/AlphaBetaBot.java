@@ -0,0 +1,93 @@
+package ai;
+
+import engine.GameState;
+
+/**
+ * A bot choosing its turns by iterative-deepening alpha-beta search within a time budget per turn.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class AlphaBetaBot extends Bot {
+    /**
+     * Deepest iteration searched when no limit is given, in turns.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 32;
+
+    private final long TIME_BUDGET_MILLIS;
+    private final int MAX_DEPTH;
+    private final AlphaBetaSearch SEARCH;
+    private SearchResult lastResult;
+
+    /**
+     * Constructor for the AlphaBetaBot class.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     */
+    public AlphaBetaBot(long timeBudgetMillis) {
+        this(timeBudgetMillis, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Constructor for the AlphaBetaBot class.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     * @param maxDepth the deepest iteration to search, in turns
+     */
+    public AlphaBetaBot(long timeBudgetMillis, int maxDepth) {
+        this(timeBudgetMillis, maxDepth, new PositionCache(AlphaBetaSearch.DEFAULT_CACHE_MB));
+    }
+
+    /**
+     * Constructor for the AlphaBetaBot class.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     * @param maxDepth the deepest iteration to search, in turns
+     * @param cache the position cache of the search, kept from turn to turn
+     */
+    public AlphaBetaBot(long timeBudgetMillis, int maxDepth, PositionCache cache) {
+        this.TIME_BUDGET_MILLIS = timeBudgetMillis;
+        this.MAX_DEPTH = maxDepth;
+        this.SEARCH = new AlphaBetaSearch(cache);
+    }
+
+    /**
+     * Chooses a turn by searching until the time budget runs out, returning the best turn found so far.
+     *
+     * @param state the game state
+     * @return the chosen turn, or null if the current player has no complete turn
+     */
+    @Override
+    public synchronized int[] chooseTurn(GameState state) {
+        SEARCH.getCACHE().newSearch();
+        this.lastResult = SEARCH.search(state, TIME_BUDGET_MILLIS, MAX_DEPTH);
+        return lastResult.getTURN();
+    }
+
+    /**
+     * Accessor for the outcome of the last search, e.g. to report its depth and speed.
+     *
+     * @return the last search result, or null before the first turn
+     */
+    public synchronized SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Accessor for the position cache of the bot, e.g. to report its hit rate.
+     *
+     * @return the position cache
+     */
+    public PositionCache getCache() {
+        return SEARCH.getCACHE();
+    }
+
+    /**
+     * Accessor for the time budget per turn.
+     *
+     * @return the time budget in milliseconds
+     */
+    public long getTIME_BUDGET_MILLIS() {
+        return TIME_BUDGET_MILLIS;
+    }
+}
@@ -0,0 +1,423 @@
+package ai;
+
+import engine.GameState;
+import engine.MoveGenerator;
+import engine.Zobrist;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative-deepening alpha-beta search over headless game states.
+ * With more than two players the search is paranoid: the player to move at the root maximises,
+ * every opponent minimises the root player's score, so one bound pair prunes the whole tree.
+ * Results are kept in a position cache, which may be shared with other searches: a cached bound deep enough
+ * ends the search of a position, and a cached best turn is searched first.
+ * Each iteration searches the best turn of the previous one first. When the time budget runs out
+ * the search stops, keeping the deepest completed iteration, or the partial one if it already
+ * proved a turn at least as good.
+ * A search object keeps one game state and one turn buffer per ply, so it is not thread-safe:
+ * use one per thread. Searches of several threads can share a position cache and a stop flag, see LazySmpBot.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class AlphaBetaSearch {
+    /**
+     * Score of a win at the root; a win found n plies deep scores WIN_SCORE - n.
+     */
+    public static final int WIN_SCORE = 1_000_000;
+
+    /**
+     * Deepest ply the search can reach, god card turns counting as one ply.
+     */
+    public static final int MAX_PLY = 64;
+
+    /**
+     * Scores beyond this bound, either sign, are proven wins or losses.
+     */
+    public static final int WIN_THRESHOLD = WIN_SCORE - MAX_PLY;
+
+    /**
+     * Size of the position cache of a search not sharing one, in MB.
+     */
+    public static final int DEFAULT_CACHE_MB = 16;
+
+    private static final int INFINITY = WIN_SCORE + 1;
+
+    // the clock is read once every CLOCK_INTERVAL nodes
+    private static final int CLOCK_INTERVAL = 1024;
+
+    private final PositionCache CACHE;
+    private final MoveGenerator GENERATOR = new MoveGenerator();
+    private final GameState[] STATES = new GameState[MAX_PLY + 1];
+    private final int[][] TURNS = new int[MAX_PLY + 1][];
+    private int turnCapacity;
+    private int rootPlayer;
+    private long perspectiveKey;
+    private long startNanos;
+    private long budgetNanos;
+    private AtomicBoolean stop;
+    private boolean aborted;
+    private long nodes;
+
+    /**
+     * Constructor for the AlphaBetaSearch class, with a position cache of its own.
+     */
+    public AlphaBetaSearch() {
+        this(new PositionCache(DEFAULT_CACHE_MB));
+    }
+
+    /**
+     * Constructor for the AlphaBetaSearch class.
+     *
+     * @param cache the position cache, possibly shared with searches on other threads
+     */
+    public AlphaBetaSearch(PositionCache cache) {
+        this.CACHE = cache;
+    }
+
+    /**
+     * Searches the best turn of the current player of a game state.
+     *
+     * @param root the game state to search, left untouched
+     * @param timeBudgetMillis the time the search may take
+     * @param maxDepth the deepest iteration to search, in turns
+     * @return the best turn found and search statistics
+     */
+    public SearchResult search(GameState root, long timeBudgetMillis, int maxDepth) {
+        return search(root, timeBudgetMillis, maxDepth, 0, 0, new AtomicBoolean());
+    }
+
+    /**
+     * Searches the best turn of the current player of a game state, skipping some iterations and stopping
+     * early once another thread raises the stop flag.
+     * Depths come in runs of skipSize iterations, shifted by skipPhase, and every other run is skipped:
+     * depth d is skipped when (d + skipPhase) / skipSize is odd. Searches with different skip patterns
+     * sharing a cache therefore work on different depths at the same time.
+     *
+     * @param root the game state to search, left untouched
+     * @param timeBudgetMillis the time the search may take
+     * @param maxDepth the deepest iteration to search, in turns
+     * @param skipSize the length of the runs of searched and skipped depths, or 0 to search every depth
+     * @param skipPhase the shift of the runs, in depths
+     * @param stop the flag ending the search when set, checked along with the clock
+     * @return the best turn found and search statistics
+     */
+    public SearchResult search(GameState root, long timeBudgetMillis, int maxDepth, int skipSize, int skipPhase,
+                               AtomicBoolean stop) {
+        long start = System.nanoTime();
+        this.startNanos = start;
+        // saturate, so that a huge budget means no time limit instead of overflowing
+        this.budgetNanos = timeBudgetMillis > Long.MAX_VALUE / 1_000_000L ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000L;
+        this.stop = stop;
+        this.aborted = false;
+        this.nodes = 1;
+        this.rootPlayer = root.getCurrentPlayer();
+        this.perspectiveKey = Zobrist.forCells(root.getCellCount()).perspective(root.getPlayerId(rootPlayer));
+        prepare(root);
+
+        int[] buffer = turnsAt(0);
+        int count = GENERATOR.generate(STATES[0], buffer);
+        if (count == 0) {
+            return new SearchResult(null, -WIN_SCORE, 0, nodes, System.nanoTime() - start);
+        }
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        long rootKey = root.getKey() ^ perspectiveKey;
+        long entry = CACHE.probe(rootKey);
+        if (entry != 0 && PositionCache.turnOf(entry) != PositionCache.NO_TURN && PositionCache.turnOf(entry) < count) {
+            moveToFront(order, PositionCache.turnOf(entry));
+        }
+
+        int bestTurn = order[0];
+        int bestScore = -INFINITY;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_PLY); depth++) {
+            if (skipSize > 0 && (depth + skipPhase) / skipSize % 2 != 0) {
+                continue;
+            }
+            int alpha = -INFINITY;
+            int iterationTurn = -1;
+            for (int k = 0; k < count; k++) {
+                int score = searchChild(0, buffer, order[k], depth - 1, alpha, INFINITY);
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationTurn = order[k];
+                }
+            }
+            // a partial iteration searched the previous best turn first, so its best is no worse
+            if (iterationTurn != -1) {
+                bestTurn = iterationTurn;
+                bestScore = alpha;
+            }
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+            CACHE.store(rootKey, toCache(bestScore, 0), depth, PositionCache.EXACT, bestTurn);
+            moveToFront(order, bestTurn);
+            if (Math.abs(bestScore) > WIN_THRESHOLD) {
+                break;
+            }
+        }
+
+        int[] turn = new int[MoveGenerator.TURN_SIZE];
+        System.arraycopy(buffer, bestTurn * MoveGenerator.TURN_SIZE, turn, 0, MoveGenerator.TURN_SIZE);
+        return new SearchResult(turn, bestScore, completedDepth, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Accessor for the number of positions visited by the last search.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Searches a position below the root.
+     *
+     * @param ply the distance from the root
+     * @param depth the remaining depth in turns
+     * @param alpha the score the root player is already sure of
+     * @param beta the score the opponents are already sure to hold the root player to
+     * @return the score of the position for the root player
+     */
+    private int alphaBeta(int ply, int depth, int alpha, int beta) {
+        GameState state = STATES[ply];
+        if (++nodes % CLOCK_INTERVAL == 0 && (System.nanoTime() - startNanos > budgetNanos || stop.get())) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (state.isGameOver()) {
+            return terminalScore(state, ply);
+        }
+        if (state.isEliminated(rootPlayer)) {
+            return -WIN_SCORE + ply;
+        }
+        if (depth == 0 || ply == MAX_PLY) {
+            return Evaluator.evaluate(state, rootPlayer);
+        }
+
+        long key = state.getKey() ^ perspectiveKey;
+        long entry = CACHE.probe(key);
+        int cachedTurn = PositionCache.NO_TURN;
+        if (entry != 0) {
+            cachedTurn = PositionCache.turnOf(entry);
+            if (PositionCache.depthOf(entry) >= depth) {
+                int score = fromCache(PositionCache.scoreOf(entry), ply);
+                int bound = PositionCache.boundOf(entry);
+                if (bound == PositionCache.EXACT
+                        || (bound == PositionCache.LOWER && score >= beta)
+                        || (bound == PositionCache.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] buffer = turnsAt(ply);
+        int count = GENERATOR.generate(state, buffer);
+        boolean maximising = state.getCurrentPlayer() == rootPlayer;
+        if (count == 0) {
+            return stuckScore(ply, depth, alpha, beta, maximising);
+        }
+        // a winning turn has no build and ends the game at once
+        for (int i = 0; i < count; i++) {
+            if (buffer[i * MoveGenerator.TURN_SIZE + MoveGenerator.BUILD] == GameState.NONE) {
+                return maximising ? WIN_SCORE - ply - 1 : -WIN_SCORE + ply + 1;
+            }
+        }
+
+        // a cached best turn from another position sharing the key may be out of range
+        if (cachedTurn >= count) {
+            cachedTurn = PositionCache.NO_TURN;
+        }
+        int alphaBefore = alpha;
+        int betaBefore = beta;
+        int best = maximising ? -INFINITY : INFINITY;
+        int bestTurn = PositionCache.NO_TURN;
+        for (int k = cachedTurn == PositionCache.NO_TURN ? 0 : -1; k < count; k++) {
+            int i = k < 0 ? cachedTurn : k;
+            if (k >= 0 && i == cachedTurn) {
+                continue;
+            }
+            int score = searchChild(ply, buffer, i, depth - 1, alpha, beta);
+            if (aborted) {
+                return 0;
+            }
+            if (maximising ? score > best : score < best) {
+                best = score;
+                bestTurn = i;
+            }
+            if (maximising) {
+                alpha = Math.max(alpha, score);
+            } else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= alphaBefore ? PositionCache.UPPER : best >= betaBefore ? PositionCache.LOWER : PositionCache.EXACT;
+        CACHE.store(key, toCache(best, ply), depth, bound, bestTurn);
+        return best;
+    }
+
+    /**
+     * Plays one turn of a position into the next ply and searches the resulting position.
+     *
+     * @param ply the ply of the position
+     * @param buffer the turns of the position
+     * @param turn the index of the turn to play
+     * @param depth the remaining depth after the turn
+     * @param alpha the lower bound
+     * @param beta the upper bound
+     * @return the score of the resulting position for the root player
+     */
+    private int searchChild(int ply, int[] buffer, int turn, int depth, int alpha, int beta) {
+        GameState child = stateAt(ply + 1);
+        child.copyFrom(STATES[ply]);
+        GENERATOR.play(child, buffer, turn);
+        return alphaBeta(ply + 1, depth, alpha, beta);
+    }
+
+    /**
+     * Scores a position where the player to move can move but has nowhere to build afterwards.
+     * Like picking a worker that can't move, the player loses; the game goes on without it.
+     *
+     * @param ply the ply of the position
+     * @param depth the remaining depth
+     * @param alpha the lower bound
+     * @param beta the upper bound
+     * @param maximising true if the stuck player is the root player
+     * @return the score of the position for the root player
+     */
+    private int stuckScore(int ply, int depth, int alpha, int beta, boolean maximising) {
+        if (maximising) {
+            return -WIN_SCORE + ply;
+        }
+        GameState child = stateAt(ply + 1);
+        child.copyFrom(STATES[ply]);
+        child.eliminateCurrentPlayer();
+        return alphaBeta(ply + 1, depth, alpha, beta);
+    }
+
+    /**
+     * Scores a finished game for the root player.
+     *
+     * @param state the game state
+     * @param ply the ply of the position
+     * @return the win or loss score, or 0 when every player was eliminated
+     */
+    private int terminalScore(GameState state, int ply) {
+        int winner = state.getWinner();
+        if (winner == GameState.NONE) {
+            return 0;
+        }
+        return winner == rootPlayer ? WIN_SCORE - ply : -WIN_SCORE + ply;
+    }
+
+    /**
+     * Converts a score to its cached form: wins and losses count their plies from the cached position, not the root.
+     *
+     * @param score the score
+     * @param ply the ply of the position
+     * @return the score to cache
+     */
+    private static int toCache(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score < -WIN_THRESHOLD ? score - ply : score;
+    }
+
+    /**
+     * Converts a cached score back to a score counting plies from the root.
+     *
+     * @param score the cached score
+     * @param ply the ply of the position
+     * @return the score
+     */
+    private static int fromCache(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score < -WIN_THRESHOLD ? score + ply : score;
+    }
+
+    /**
+     * Accessor for the position cache of the search.
+     *
+     * @return the position cache
+     */
+    public PositionCache getCACHE() {
+        return CACHE;
+    }
+
+    /**
+     * Sets up the search for a root position.
+     * Per-ply states of another board cannot be copied into, so they are dropped and created again on demand.
+     *
+     * @param root the root game state
+     */
+    private void prepare(GameState root) {
+        Arrays.fill(STATES, null);
+        STATES[0] = new GameState(root);
+        int capacity = MoveGenerator.capacityFor(root);
+        if (capacity > turnCapacity) {
+            Arrays.fill(TURNS, null);
+            turnCapacity = capacity;
+        }
+    }
+
+    /**
+     * Returns the game state of a ply, creating it on first use.
+     *
+     * @param ply the ply
+     * @return the game state of the ply
+     */
+    private GameState stateAt(int ply) {
+        if (STATES[ply] == null) {
+            STATES[ply] = new GameState(STATES[0]);
+        }
+        return STATES[ply];
+    }
+
+    /**
+     * Returns the turn buffer of a ply, creating it on first use.
+     *
+     * @param ply the ply
+     * @return the turn buffer of the ply
+     */
+    private int[] turnsAt(int ply) {
+        if (TURNS[ply] == null) {
+            TURNS[ply] = new int[turnCapacity];
+        }
+        return TURNS[ply];
+    }
+
+    /**
+     * Moves a turn to the front of the root turn order, keeping the order of the others.
+     *
+     * @param order the root turn order
+     * @param turn the turn to search first
+     */
+    private static void moveToFront(int[] order, int turn) {
+        int k = 0;
+        while (order[k] != turn) {
+            k++;
+        }
+        System.arraycopy(order, 0, order, 1, k);
+        order[0] = turn;
+    }
+}
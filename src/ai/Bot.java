@@ -0,0 +1,28 @@
+package ai;
+
+import engine.GameState;
+
+/**
+ * This is an abstract class representing a computer player's way of choosing its turns.
+ * A bot only sees a headless game state, so it can think on any thread while the UI keeps running.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public abstract class Bot {
+
+    /**
+     * Chooses the complete turn of the current player of a game state.
+     *
+     * @param state the game state, owned by the bot for the duration of the call
+     * @return the turn in the MoveGenerator layout (TURN_SIZE ints), or null if the current player has no complete turn
+     */
+    public abstract int[] chooseTurn(GameState state);
+
+    /**
+     * Stops the threads the bot thinks with, once its game is over. The bot cannot choose turns afterwards.
+     * A bot thinking on the calling thread only has nothing to stop.
+     */
+    public void shutdown() {
+    }
+}
@@ -0,0 +1,75 @@
+package ai;
+
+import engine.GameState;
+
+/**
+ * Static evaluation of game states for the search.
+ * A player is worth more the higher its workers stand, the more cells they can move to,
+ * and for every tower three they can step up onto next turn.
+ * A position is scored for one player as its worth minus the worth of its strongest opponent.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public final class Evaluator {
+    private static final int[] LEVEL_SCORE = {0, 40, 120, 0};
+    private static final int MOBILITY_SCORE = 4;
+    private static final int WIN_THREAT_SCORE = 400;
+
+    /**
+     * Constructor for the Evaluator class.
+     * This constructor is private to prevent instantiation,
+     */
+    private Evaluator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Scores a game state for a player.
+     *
+     * @param state the game state
+     * @param player the player index
+     * @return the score, positive when the player is ahead of every opponent
+     */
+    public static int evaluate(GameState state, int player) {
+        int strongestOpponent = Integer.MIN_VALUE;
+        for (int opponent = 0; opponent < state.getPlayerCount(); opponent++) {
+            if (opponent != player && !state.isEliminated(opponent)) {
+                strongestOpponent = Math.max(strongestOpponent, worthOf(state, opponent));
+            }
+        }
+        int worth = worthOf(state, player);
+        return strongestOpponent == Integer.MIN_VALUE ? worth : worth - strongestOpponent;
+    }
+
+    /**
+     * Computes the worth of a player's workers on their own.
+     *
+     * @param state the game state
+     * @param player the player index
+     * @return the worth of the player
+     */
+    public static int worthOf(GameState state, int player) {
+        int[] offsets = state.getADJACENCY().getOFFSETS();
+        int[] neighbours = state.getADJACENCY().getNEIGHBOURS();
+        int worth = 0;
+        for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+            int cell = state.getWorkerCell(worker);
+            if (state.getWorkerOwner(worker) != player || cell == GameState.NONE) {
+                continue;
+            }
+            int level = state.getLevel(cell);
+            worth += LEVEL_SCORE[level];
+            for (int i = offsets[cell]; i < offsets[cell + 1]; i++) {
+                int to = neighbours[i];
+                if (state.canWorkerTravel(worker, to)) {
+                    worth += MOBILITY_SCORE;
+                    if (level == GameState.MAX_LEVEL - 1 && state.getLevel(to) == GameState.MAX_LEVEL) {
+                        worth += WIN_THREAT_SCORE;
+                    }
+                }
+            }
+        }
+        return worth;
+    }
+}
@@ -0,0 +1,153 @@
+package ai;
+
+import engine.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A bot searching with several threads in the Lazy SMP style: every thread runs its own iterative-deepening
+ * alpha-beta search of the same root, and they only cooperate through one shared position cache, where each
+ * thread finds the bounds and best turns the others stored. Each helper skips its own pattern of iterations,
+ * taken from the skip tables below, so the threads spread over different depths instead of repeating each other.
+ * The calling thread runs the main search; when it finishes, the helpers are stopped and the turn of the
+ * deepest completed search is played.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class LazySmpBot extends Bot {
+    // helper i skips depths by entry (i - 1) % 20: runs of SKIP_SIZE depths shifted by SKIP_PHASE, every other run
+    private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+    private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    private final long TIME_BUDGET_MILLIS;
+    private final int MAX_DEPTH;
+    private final PositionCache CACHE;
+    private final AlphaBetaSearch[] SEARCHES;
+    private final ExecutorService HELPERS;
+    private SearchResult lastResult;
+
+    /**
+     * Constructor for the LazySmpBot class, with one position cache of DEFAULT_CACHE_MB shared by the threads,
+     * so that the memory of the bot does not grow with the number of cores.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     * @param threads the number of searching threads, the calling thread included
+     */
+    public LazySmpBot(long timeBudgetMillis, int threads) {
+        this(timeBudgetMillis, threads, AlphaBetaBot.DEFAULT_MAX_DEPTH,
+                new PositionCache(AlphaBetaSearch.DEFAULT_CACHE_MB));
+    }
+
+    /**
+     * Constructor for the LazySmpBot class.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     * @param threads the number of searching threads, the calling thread included
+     * @param maxDepth the deepest iteration to search, in turns
+     * @param cache the position cache shared by the threads
+     * @throws IllegalArgumentException if there is not at least one thread
+     */
+    public LazySmpBot(long timeBudgetMillis, int threads, int maxDepth, PositionCache cache) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A bot needs at least one thread");
+        }
+        this.TIME_BUDGET_MILLIS = timeBudgetMillis;
+        this.MAX_DEPTH = maxDepth;
+        this.CACHE = cache;
+        this.SEARCHES = new AlphaBetaSearch[threads];
+        for (int i = 0; i < threads; i++) {
+            SEARCHES[i] = new AlphaBetaSearch(cache);
+        }
+        this.HELPERS = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp-helper");
+            // helpers never keep the game running once it is closed
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Chooses a turn by searching with every thread until the time budget runs out.
+     *
+     * @param state the game state
+     * @return the chosen turn, or null if the current player has no complete turn
+     * @throws IllegalStateException if a helper thread failed
+     */
+    @Override
+    public synchronized int[] chooseTurn(GameState state) {
+        long start = System.nanoTime();
+        CACHE.newSearch();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<SearchResult>> helpers = new ArrayList<>();
+        for (int i = 1; i < SEARCHES.length; i++) {
+            AlphaBetaSearch search = SEARCHES[i];
+            GameState copy = new GameState(state);
+            int skipSize = SKIP_SIZE[(i - 1) % SKIP_SIZE.length];
+            int skipPhase = SKIP_PHASE[(i - 1) % SKIP_PHASE.length];
+            helpers.add(HELPERS.submit(
+                    () -> search.search(copy, TIME_BUDGET_MILLIS, MAX_DEPTH, skipSize, skipPhase, stop)));
+        }
+
+        SearchResult best = SEARCHES[0].search(state, TIME_BUDGET_MILLIS, MAX_DEPTH, 0, 0, stop);
+        stop.set(true);
+        long nodes = best.getNODES();
+        for (Future<SearchResult> helper : helpers) {
+            SearchResult result;
+            try {
+                result = helper.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e);
+            }
+            nodes += result.getNODES();
+            if (result.getDEPTH() > best.getDEPTH() && result.getTURN() != null) {
+                best = result;
+            }
+        }
+        this.lastResult = new SearchResult(best.getTURN(), best.getSCORE(), best.getDEPTH(), nodes, System.nanoTime() - start);
+        return lastResult.getTURN();
+    }
+
+    /**
+     * Accessor for the outcome of the last search, with the nodes of every thread.
+     *
+     * @return the last search result, or null before the first turn
+     */
+    public synchronized SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Accessor for the position cache shared by the threads.
+     *
+     * @return the position cache
+     */
+    public PositionCache getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Accessor for the number of searching threads.
+     *
+     * @return the thread count, the calling thread included
+     */
+    public int getThreadCount() {
+        return SEARCHES.length;
+    }
+
+    /**
+     * Stops the helper threads. The bot cannot choose turns afterwards.
+     */
+    @Override
+    public void shutdown() {
+        if (HELPERS != null) {
+            HELPERS.shutdownNow();
+        }
+    }
+}
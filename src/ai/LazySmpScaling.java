@@ -0,0 +1,138 @@
+package ai;
+
+import board.Board;
+import engine.GameState;
+import engine.MoveGenerator;
+import game.World;
+import god.Artemis;
+import god.Demeter;
+import god.GodCard;
+import god.Zeus;
+import player.Player;
+import player.Worker;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Measures how the LazySmpBot scales with its thread count on the standard map.txt board:
+ * the nodes searched per second within a fixed time budget, and the time taken to complete a fixed depth.
+ * Both are averaged over the same set of two-player positions for every thread count.
+ * Usage: LazySmpScaling [time budget ms] [depth] [positions] [thread counts...]
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class LazySmpScaling {
+    private static final int[] DEFAULT_THREAD_COUNTS = {1, 2, 4, 8, 16};
+    private static final int OPENING_TURNS = 4;
+
+    /**
+     * Constructor for the LazySmpScaling class.
+     * This constructor is private to prevent instantiation,
+     */
+    private LazySmpScaling() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Runs the measurement and prints one line per thread count.
+     *
+     * @param args the time budget per turn in ms (1000), the depth to time (4), the number of positions (5)
+     *             and the thread counts (1 2 4 8 16)
+     * @throws Exception if the map cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        long budgetMillis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int positionCount = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int[] threadCounts = DEFAULT_THREAD_COUNTS;
+        if (args.length > 3) {
+            threadCounts = new int[args.length - 3];
+            for (int i = 3; i < args.length; i++) {
+                threadCounts[i - 3] = Integer.parseInt(args[i]);
+            }
+        }
+
+        List<GameState> positions = positions(positionCount);
+        System.out.println(Runtime.getRuntime().availableProcessors() + " cores, " + positions.size()
+                + " positions, " + budgetMillis + " ms per search, time to depth " + depth);
+        // warm the JIT up, so the first thread count is not measured on interpreted code
+        for (GameState position : positions) {
+            new LazySmpBot(budgetMillis, 1).chooseTurn(new GameState(position));
+        }
+
+        System.out.println("threads   nodes/sec  speedup   ms to depth  speedup");
+        double baseRate = 0;
+        double baseMillis = 0;
+        for (int threads : threadCounts) {
+            long nodes = 0;
+            long nanos = 0;
+            long depthNanos = 0;
+            for (GameState position : positions) {
+                LazySmpBot timed = new LazySmpBot(budgetMillis, threads);
+                timed.chooseTurn(new GameState(position));
+                nodes += timed.getLastResult().getNODES();
+                nanos += timed.getLastResult().getELAPSED_NANOS();
+                timed.shutdown();
+
+                LazySmpBot deep = new LazySmpBot(Long.MAX_VALUE, threads, depth,
+                        new PositionCache(AlphaBetaSearch.DEFAULT_CACHE_MB));
+                deep.chooseTurn(new GameState(position));
+                depthNanos += deep.getLastResult().getELAPSED_NANOS();
+                deep.shutdown();
+            }
+            double rate = nodes * 1e9 / nanos;
+            double millis = depthNanos / 1e6 / positions.size();
+            if (baseRate == 0) {
+                baseRate = rate;
+                baseMillis = millis;
+            }
+            System.out.printf("%7d %11.0f %8.2f %13.1f %8.2f%n", threads, rate, rate / baseRate, millis, baseMillis / millis);
+        }
+    }
+
+    /**
+     * Sets up two-player games on map.txt and plays a few fixed random turns into each.
+     *
+     * @param count the number of positions
+     * @return the positions, none of them over
+     * @throws Exception if the map cannot be read
+     */
+    private static List<GameState> positions(int count) throws Exception {
+        URL mapPath = LazySmpScaling.class.getResource("/resources/map.txt");
+        Random random = new Random(count);
+        MoveGenerator generator = new MoveGenerator();
+        List<GameState> positions = new ArrayList<>();
+        while (positions.size() < count) {
+            List<Player> players = new ArrayList<>();
+            for (int id = 1; id <= 2; id++) {
+                Player player = new Player(id, null);
+                player.addWorker(new Worker(player));
+                player.addWorker(new Worker(player));
+                players.add(player);
+            }
+            World world = new World(new Board(mapPath, players.size()), null, new SplittableRandom(random.nextLong()));
+            List<GodCard> godCards = List.of(new Artemis(null), new Demeter(null), new Zeus(null));
+            world.initializeGame(players, 2, godCards);
+            world.nextPlayer();
+
+            GameState state = world.snapshot();
+            int[] turns = new int[MoveGenerator.capacityFor(state)];
+            for (int turn = 0; turn < OPENING_TURNS && !state.isGameOver(); turn++) {
+                int turnCount = generator.generate(state, turns);
+                if (turnCount == 0) {
+                    break;
+                }
+                generator.play(state, turns, random.nextInt(turnCount));
+            }
+            if (!state.isGameOver()) {
+                positions.add(state);
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,327 @@
+package ai;
+
+import engine.GameState;
+import engine.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A bot choosing its turns by Monte Carlo tree search, suited to games of three to eight players.
+ * Every playout descends the tree by UCT, each node choosing for the player to move there by that player's
+ * own mean reward, expands the leaf and finishes the game with random turns, taking a winning turn whenever
+ * there is one. The rewards of the finished game are a vector with one entry per player: 1 for the winner,
+ * or an equal share for the players still in before the last turn when it eliminated all of them.
+ * Players are eliminated as in GameController.checkLosingPlayer: GameState removes trapped players after every
+ * move and build, and a player left without a complete turn loses like a worker that can't move.
+ * Several threads grow the same tree in parallel, spread over its branches by virtual loss, see MctsNode.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class MctsBot extends Bot {
+    /**
+     * Reward of a win; divisible by every player count from 1 to 8, so that shared rewards stay exact.
+     */
+    public static final long REWARD_SCALE = 840;
+
+    /**
+     * Weight of exploration against the mean reward in UCT.
+     */
+    public static final double EXPLORATION = Math.sqrt(2);
+
+    // a leaf is expanded on its second visit, so that single playouts do not each allocate a child list
+    private static final int EXPANSION_VISITS = 2;
+
+    private final long TIME_BUDGET_MILLIS;
+    private final int THREADS;
+    private final ExecutorService HELPERS;
+    private final SplittableRandom RANDOM;
+    private SearchResult lastResult;
+
+    /**
+     * Constructor for the MctsBot class, with a random seed.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     * @param threads the number of searching threads, the calling thread included
+     */
+    public MctsBot(long timeBudgetMillis, int threads) {
+        this(timeBudgetMillis, threads, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for the MctsBot class.
+     *
+     * @param timeBudgetMillis the time the bot may think about each turn
+     * @param threads the number of searching threads, the calling thread included
+     * @param random the generator the playout threads split their own generators from
+     * @throws IllegalArgumentException if there is not at least one thread
+     */
+    public MctsBot(long timeBudgetMillis, int threads, SplittableRandom random) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A bot needs at least one thread");
+        }
+        this.TIME_BUDGET_MILLIS = timeBudgetMillis;
+        this.THREADS = threads;
+        this.RANDOM = random;
+        this.HELPERS = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-helper");
+            // helpers never keep the game running once it is closed
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Chooses the most visited turn after running playouts on every thread until the time budget runs out.
+     *
+     * @param state the game state
+     * @return the chosen turn, or null if the current player has no complete turn
+     * @throws IllegalStateException if a helper thread failed
+     */
+    @Override
+    public synchronized int[] chooseTurn(GameState state) {
+        long start = System.nanoTime();
+        long deadline = start + TIME_BUDGET_MILLIS * 1_000_000L;
+        MctsNode root = new MctsNode(null, null, state.getPlayerCount());
+
+        List<Future<Integer>> helpers = new ArrayList<>();
+        for (int i = 1; i < THREADS; i++) {
+            Playout playout = new Playout(state, RANDOM.split());
+            helpers.add(HELPERS.submit(() -> playout.run(root, deadline)));
+        }
+        int depth = new Playout(state, RANDOM.split()).run(root, deadline);
+        for (Future<Integer> helper : helpers) {
+            try {
+                depth = Math.max(depth, helper.get());
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("Playout helper failed", e);
+            }
+        }
+
+        MctsNode best = null;
+        MctsNode[] children = root.getChildren();
+        if (children != null) {
+            for (MctsNode child : children) {
+                if (best == null || child.getVisits() > best.getVisits()) {
+                    best = child;
+                }
+            }
+        }
+        int[] turn = best == null ? null : best.getTURN();
+        int score = best == null || best.getVisits() == 0 ? 0
+                : (int) (1000 * best.getReward(state.getCurrentPlayer()) / (REWARD_SCALE * best.getVisits()));
+        this.lastResult = new SearchResult(turn == null ? null : turn.clone(), score, depth, root.getVisits(),
+                System.nanoTime() - start);
+        return lastResult.getTURN();
+    }
+
+    /**
+     * Accessor for the outcome of the last search.
+     * Its score is the mean reward of the chosen turn in thousandths, its depth the deepest tree level reached,
+     * and its node count the number of playouts.
+     *
+     * @return the last search result, or null before the first turn
+     */
+    public synchronized SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Stops the helper threads. The bot cannot choose turns afterwards.
+     */
+    @Override
+    public void shutdown() {
+        if (HELPERS != null) {
+            HELPERS.shutdownNow();
+        }
+    }
+
+    /**
+     * The playouts of one thread, with its own game state, turn buffer and random generator.
+     */
+    private static class Playout {
+        private final GameState ROOT_STATE;
+        private final GameState STATE;
+        private final MoveGenerator GENERATOR = new MoveGenerator();
+        private final int[] TURNS;
+        private final long[] REWARDS;
+        private final SplittableRandom RANDOM;
+        private long contenders;
+
+        /**
+         * Constructor for the Playout class.
+         *
+         * @param rootState the game state at the root of the tree
+         * @param random the generator of the thread
+         */
+        Playout(GameState rootState, SplittableRandom random) {
+            this.ROOT_STATE = new GameState(rootState);
+            this.STATE = new GameState(rootState);
+            this.TURNS = new int[MoveGenerator.capacityFor(rootState)];
+            this.REWARDS = new long[rootState.getPlayerCount()];
+            this.RANDOM = random;
+        }
+
+        /**
+         * Runs playouts until the deadline.
+         *
+         * @param root the root of the shared tree
+         * @param deadline the System.nanoTime at which to stop
+         * @return the deepest tree level reached
+         */
+        int run(MctsNode root, long deadline) {
+            int deepest = 0;
+            do {
+                deepest = Math.max(deepest, playOnce(root));
+            } while (System.nanoTime() - deadline < 0);
+            return deepest;
+        }
+
+        /**
+         * Runs one playout: selection, expansion, random game and backpropagation.
+         *
+         * @param root the root of the shared tree
+         * @return the tree level of the leaf the playout started from
+         */
+        private int playOnce(MctsNode root) {
+            STATE.copyFrom(ROOT_STATE);
+            rememberContenders();
+            MctsNode node = root;
+            node.visit();
+            int level = 0;
+            while (!STATE.isGameOver()) {
+                MctsNode[] children = node.getChildren();
+                if (children == null) {
+                    if (node != root && node.getVisits() < EXPANSION_VISITS) {
+                        break;
+                    }
+                    children = node.expand(childrenOf(node));
+                }
+                node = select(children, node.getVisits(), STATE.getCurrentPlayer());
+                node.visit();
+                applyTurn(node.getTURN());
+                level++;
+            }
+
+            rollout();
+            for (MctsNode n = node; n != null; n = n.getPARENT()) {
+                n.addRewards(REWARDS);
+            }
+            return level;
+        }
+
+        /**
+         * Creates the children of a node, one per turn of the player to move, or a single elimination child.
+         *
+         * @param node the node, whose position is in STATE
+         * @return the children
+         */
+        private MctsNode[] childrenOf(MctsNode node) {
+            int count = GENERATOR.generate(STATE, TURNS);
+            int players = STATE.getPlayerCount();
+            if (count == 0) {
+                return new MctsNode[]{new MctsNode(node, null, players)};
+            }
+            MctsNode[] children = new MctsNode[count];
+            for (int i = 0; i < count; i++) {
+                int[] turn = new int[MoveGenerator.TURN_SIZE];
+                System.arraycopy(TURNS, i * MoveGenerator.TURN_SIZE, turn, 0, MoveGenerator.TURN_SIZE);
+                children[i] = new MctsNode(node, turn, players);
+            }
+            return children;
+        }
+
+        /**
+         * Picks the child with the best UCT value for the player to move; unvisited children come first.
+         *
+         * @param children the children
+         * @param parentVisits the visits of the parent
+         * @param player the player to move at the parent
+         * @return the chosen child
+         */
+        private static MctsNode select(MctsNode[] children, int parentVisits, int player) {
+            double logVisits = Math.log(Math.max(parentVisits, 1));
+            MctsNode best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (MctsNode child : children) {
+                int visits = child.getVisits();
+                if (visits == 0) {
+                    return child;
+                }
+                double value = (double) child.getReward(player) / (REWARD_SCALE * visits)
+                        + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays the turn of a child on STATE.
+         *
+         * @param turn the turn, or null to eliminate the player to move
+         */
+        private void applyTurn(int[] turn) {
+            rememberContenders();
+            if (turn == null) {
+                STATE.eliminateCurrentPlayer();
+                return;
+            }
+            STATE.playTurn(turn[MoveGenerator.WORKER], turn[MoveGenerator.MOVE], turn[MoveGenerator.SECOND_MOVE],
+                    turn[MoveGenerator.BUILD], turn[MoveGenerator.SECOND_BUILD]);
+        }
+
+        /**
+         * Finishes the game on STATE with random turns, a winning one whenever possible, and fills REWARDS.
+         * Every turn builds, so the game always ends.
+         */
+        private void rollout() {
+            while (!STATE.isGameOver()) {
+                int count = GENERATOR.generate(STATE, TURNS);
+                int pick = count == 0 ? -1 : RANDOM.nextInt(count);
+                for (int i = 0; i < count; i++) {
+                    if (TURNS[i * MoveGenerator.TURN_SIZE + MoveGenerator.BUILD] == GameState.NONE) {
+                        pick = i;
+                        break;
+                    }
+                }
+                rememberContenders();
+                if (pick < 0) {
+                    STATE.eliminateCurrentPlayer();
+                } else {
+                    GENERATOR.play(STATE, TURNS, pick);
+                }
+            }
+
+            int winner = STATE.getWinner();
+            long share = REWARD_SCALE / Long.bitCount(contenders);
+            for (int player = 0; player < REWARDS.length; player++) {
+                if (winner == GameState.NONE) {
+                    REWARDS[player] = (contenders & (1L << player)) != 0 ? share : 0;
+                } else {
+                    REWARDS[player] = player == winner ? REWARD_SCALE : 0;
+                }
+            }
+        }
+
+        /**
+         * Records the players still in before a turn, who share the reward if the turn eliminates all of them.
+         */
+        private void rememberContenders() {
+            contenders = 0L;
+            for (int player = 0; player < REWARDS.length; player++) {
+                if (!STATE.isEliminated(player)) {
+                    contenders |= 1L << player;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A node of the Monte Carlo search tree, shared by every searching thread without locks.
+ * Statistics are atomics: a visit is counted on the way down, before its reward is known, so threads
+ * descending at the same time see it as a lost playout (virtual loss) and spread over other branches
+ * until the reward is added on the way back up. Children are created once, by whichever thread
+ * publishes its array first.
+ * Rewards are kept per player, in units of 1 / MctsBot.REWARD_SCALE.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+class MctsNode {
+    private final MctsNode PARENT;
+    private final int[] TURN;
+    private final AtomicInteger VISITS = new AtomicInteger();
+    private final AtomicLongArray REWARDS;
+    private final AtomicReference<MctsNode[]> CHILDREN = new AtomicReference<>();
+
+    /**
+     * Constructor for the MctsNode class.
+     *
+     * @param parent the parent node, or null for the root
+     * @param turn the turn leading from the parent to this node, or null if the player to move at the parent
+     *             had no complete turn and was eliminated
+     * @param playerCount the number of players of the game
+     */
+    MctsNode(MctsNode parent, int[] turn, int playerCount) {
+        this.PARENT = parent;
+        this.TURN = turn;
+        this.REWARDS = new AtomicLongArray(playerCount);
+    }
+
+    /**
+     * Counts a visit, before its playout is finished.
+     */
+    void visit() {
+        VISITS.incrementAndGet();
+    }
+
+    /**
+     * Adds the rewards of a finished playout through this node.
+     *
+     * @param rewards the reward of each player
+     */
+    void addRewards(long[] rewards) {
+        for (int player = 0; player < rewards.length; player++) {
+            if (rewards[player] != 0) {
+                REWARDS.addAndGet(player, rewards[player]);
+            }
+        }
+    }
+
+    /**
+     * Publishes the children of the node unless another thread already did.
+     *
+     * @param children the children
+     * @return the children of the node, those of the other thread if it was first
+     */
+    MctsNode[] expand(MctsNode[] children) {
+        if (CHILDREN.compareAndSet(null, children)) {
+            return children;
+        }
+        return CHILDREN.get();
+    }
+
+    /**
+     * Accessor for the parent node.
+     *
+     * @return the parent, or null for the root
+     */
+    MctsNode getPARENT() {
+        return PARENT;
+    }
+
+    /**
+     * Accessor for the turn leading to this node.
+     *
+     * @return the turn, or null if the player to move was eliminated instead
+     */
+    int[] getTURN() {
+        return TURN;
+    }
+
+    /**
+     * Accessor for the number of visits, those still in progress included.
+     *
+     * @return the visit count
+     */
+    int getVisits() {
+        return VISITS.get();
+    }
+
+    /**
+     * Accessor for the total reward of a player.
+     *
+     * @param player the player index
+     * @return the reward, in units of 1 / MctsBot.REWARD_SCALE
+     */
+    long getReward(int player) {
+        return REWARDS.get(player);
+    }
+
+    /**
+     * Accessor for the children.
+     *
+     * @return the children, or null while the node is not expanded
+     */
+    MctsNode[] getChildren() {
+        return CHILDREN.get();
+    }
+}
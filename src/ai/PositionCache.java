@@ -0,0 +1,322 @@
+package ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size position cache (transposition table) shared without locks by any number of searching threads.
+ * Each entry is two longs: the position key XOR the data, and the data, which packs the score, the search depth,
+ * the kind of bound, the generation and the best turn. Threads read and write both longs without locking;
+ * an entry whose two halves were written by different threads no longer verifies against its key and reads
+ * as a miss, so a torn entry is never trusted.
+ * Entries are grouped in buckets of two: one slot keeps the deepest recent result, the other always takes
+ * the latest one.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class PositionCache {
+    /**
+     * Bound kind of a score that is the exact value of the position.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * Bound kind of a score the position is worth at least (the search failed high).
+     */
+    public static final int LOWER = 2;
+
+    /**
+     * Bound kind of a score the position is worth at most (the search failed low).
+     */
+    public static final int UPPER = 3;
+
+    /**
+     * Best turn of an entry that has none.
+     */
+    public static final int NO_TURN = -1;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int BUCKET_SIZE = 2;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int GENERATION_SHIFT = 42;
+    private static final int TURN_SHIFT = 50;
+    private static final long TURN_LIMIT = (1L << (Long.SIZE - TURN_SHIFT)) - 1;
+
+    private final AtomicLongArray ENTRIES;
+    private final int BUCKET_MASK;
+    private final LongAdder PROBES = new LongAdder();
+    private final LongAdder HITS = new LongAdder();
+    private final LongAdder COLLISIONS = new LongAdder();
+    private final LongAdder STORES = new LongAdder();
+    private final LongAdder REPLACEMENTS = new LongAdder();
+    private volatile int generation;
+
+    /**
+     * Constructor for the PositionCache class.
+     *
+     * @param megabytes the memory the cache may use, rounded down to a power of two number of entries
+     * @throws IllegalArgumentException if the size is not positive or too large for one array
+     */
+    public PositionCache(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        long entries = Long.highestOneBit(megabytes * 1024L * 1024L / BYTES_PER_ENTRY);
+        if (entries * 2 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cache size of " + megabytes + " MB is too large");
+        }
+        this.ENTRIES = new AtomicLongArray((int) entries * 2);
+        this.BUCKET_MASK = (int) (entries / BUCKET_SIZE) - 1;
+    }
+
+    /**
+     * Starts a new search generation; results of older generations are replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param key the position key
+     * @return the packed data of the entry, decoded with scoreOf, depthOf, boundOf and turnOf, or 0 on a miss
+     */
+    public long probe(long key) {
+        PROBES.increment();
+        int first = bucketOf(key);
+        boolean occupied = false;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            long data = ENTRIES.getOpaque(slot * 2 + 1);
+            if (data == 0) {
+                continue;
+            }
+            if ((ENTRIES.getOpaque(slot * 2) ^ data) == key) {
+                HITS.increment();
+                return data;
+            }
+            occupied = true;
+        }
+        if (occupied) {
+            COLLISIONS.increment();
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of searching a position.
+     *
+     * @param key the position key
+     * @param score the score found
+     * @param depth the depth searched, in turns
+     * @param bound EXACT, LOWER or UPPER
+     * @param turn the index of the best turn in the generated turn list, or NO_TURN
+     */
+    public void store(long key, int score, int depth, int bound, int turn) {
+        STORES.increment();
+        long data = pack(score, depth, bound, turn);
+        int first = bucketOf(key);
+        int deepSlot = first;
+        long deepData = ENTRIES.getOpaque(deepSlot * 2 + 1);
+        long deepKey = ENTRIES.getOpaque(deepSlot * 2) ^ deepData;
+        int slot;
+        if (deepData == 0 || deepKey == key || depth >= depthOf(deepData) || generationOf(deepData) != generation) {
+            slot = deepSlot;
+        } else {
+            slot = first + 1;
+        }
+        long oldData = ENTRIES.getOpaque(slot * 2 + 1);
+        if (oldData != 0 && (ENTRIES.getOpaque(slot * 2) ^ oldData) != key) {
+            REPLACEMENTS.increment();
+        }
+        ENTRIES.setOpaque(slot * 2, key ^ data);
+        ENTRIES.setOpaque(slot * 2 + 1, data);
+    }
+
+    /**
+     * Empties the cache and resets its counters.
+     */
+    public void clear() {
+        for (int i = 0; i < ENTRIES.length(); i++) {
+            ENTRIES.setOpaque(i, 0L);
+        }
+        resetCounters();
+    }
+
+    /**
+     * Resets the hit, collision and replacement counters.
+     */
+    public void resetCounters() {
+        PROBES.reset();
+        HITS.reset();
+        COLLISIONS.reset();
+        STORES.reset();
+        REPLACEMENTS.reset();
+    }
+
+    /**
+     * Decodes the score of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the score
+     */
+    public static int scoreOf(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Decodes the search depth of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the depth in turns
+     */
+    public static int depthOf(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Decodes the bound kind of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return EXACT, LOWER or UPPER
+     */
+    public static int boundOf(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * Decodes the best turn of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the index of the best turn in the generated turn list, or NO_TURN
+     */
+    public static int turnOf(long data) {
+        return (int) (data >>> TURN_SHIFT) - 1;
+    }
+
+    /**
+     * Accessor for the number of entries.
+     *
+     * @return the capacity in entries
+     */
+    public int getCapacity() {
+        return ENTRIES.length() / 2;
+    }
+
+    /**
+     * Accessor for the memory used by the entries.
+     *
+     * @return the size in bytes
+     */
+    public long getSizeBytes() {
+        return (long) getCapacity() * BYTES_PER_ENTRY;
+    }
+
+    /**
+     * Accessor for the number of lookups.
+     *
+     * @return the probe count
+     */
+    public long getProbes() {
+        return PROBES.sum();
+    }
+
+    /**
+     * Accessor for the number of lookups that found their position.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Accessor for the number of missed lookups whose bucket held other positions, torn entries included.
+     *
+     * @return the collision count
+     */
+    public long getCollisions() {
+        return COLLISIONS.sum();
+    }
+
+    /**
+     * Accessor for the number of results stored.
+     *
+     * @return the store count
+     */
+    public long getStores() {
+        return STORES.sum();
+    }
+
+    /**
+     * Accessor for the number of stores that overwrote another position.
+     *
+     * @return the replacement count
+     */
+    public long getReplacements() {
+        return REPLACEMENTS.sum();
+    }
+
+    /**
+     * Returns the share of lookups that found their position.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    /**
+     * Returns a one-line summary of the cache counters.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("%d entries (%d MB): %d probes, %.1f%% hits, %d collisions, %d stores, %d replacements",
+                getCapacity(), getSizeBytes() >> 20, getProbes(), getHitRate() * 100, getCollisions(),
+                getStores(), getReplacements());
+    }
+
+    /**
+     * Returns the first slot of the bucket of a key.
+     *
+     * @param key the position key
+     * @return the slot index
+     */
+    private int bucketOf(long key) {
+        // the low bits pick the bucket, the whole key is verified on probe
+        return ((int) key & BUCKET_MASK) * BUCKET_SIZE;
+    }
+
+    /**
+     * Packs an entry's data into a long; valid data is never 0 as the bound kind is never 0.
+     *
+     * @param score the score
+     * @param depth the depth, clamped to 0..255
+     * @param bound the bound kind
+     * @param turn the best turn, or NO_TURN; turns beyond the packed range are dropped
+     * @return the packed data
+     */
+    private long pack(int score, int depth, int bound, int turn) {
+        long packedTurn = turn < 0 || turn >= TURN_LIMIT ? 0 : turn + 1L;
+        return (score & 0xFFFF_FFFFL)
+                | ((long) Math.min(Math.max(depth, 0), 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) generation << GENERATION_SHIFT)
+                | (packedTurn << TURN_SHIFT);
+    }
+
+    /**
+     * Decodes the generation of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the generation
+     */
+    private static int generationOf(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
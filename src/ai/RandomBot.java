@@ -0,0 +1,56 @@
+package ai;
+
+import engine.GameState;
+import engine.MoveGenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * A bot playing a uniformly random turn, except that it always takes a winning turn when it has one.
+ * It thinks in microseconds, so it is the baseline opponent of large self-play simulations.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class RandomBot extends Bot {
+    private final MoveGenerator GENERATOR = new MoveGenerator();
+    private final SplittableRandom RANDOM;
+    private int[] turns = new int[0];
+
+    /**
+     * Constructor for the RandomBot class.
+     *
+     * @param random the generator choosing the turns
+     */
+    public RandomBot(SplittableRandom random) {
+        this.RANDOM = random;
+    }
+
+    /**
+     * Chooses a winning turn if there is one, otherwise a random turn.
+     *
+     * @param state the game state
+     * @return the chosen turn, or null if the current player has no complete turn
+     */
+    @Override
+    public int[] chooseTurn(GameState state) {
+        int capacity = MoveGenerator.capacityFor(state);
+        if (turns.length < capacity) {
+            turns = new int[capacity];
+        }
+        int count = GENERATOR.generate(state, turns);
+        if (count == 0) {
+            return null;
+        }
+        int pick = RANDOM.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            if (turns[i * MoveGenerator.TURN_SIZE + MoveGenerator.BUILD] == GameState.NONE) {
+                pick = i;
+                break;
+            }
+        }
+        int[] turn = new int[MoveGenerator.TURN_SIZE];
+        System.arraycopy(turns, pick * MoveGenerator.TURN_SIZE, turn, 0, MoveGenerator.TURN_SIZE);
+        return turn;
+    }
+}
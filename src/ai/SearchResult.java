@@ -0,0 +1,96 @@
+package ai;
+
+/**
+ * The outcome of a search: the turn chosen and how much work it took.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class SearchResult {
+    private final int[] TURN;
+    private final int SCORE;
+    private final int DEPTH;
+    private final long NODES;
+    private final long ELAPSED_NANOS;
+
+    /**
+     * Constructor for the SearchResult class.
+     *
+     * @param turn the best turn found, or null if the player to move has no turn
+     * @param score the score of the turn for the player to move
+     * @param depth the deepest iteration completed, in turns
+     * @param nodes the number of positions visited
+     * @param elapsedNanos the time spent searching
+     */
+    public SearchResult(int[] turn, int score, int depth, long nodes, long elapsedNanos) {
+        this.TURN = turn;
+        this.SCORE = score;
+        this.DEPTH = depth;
+        this.NODES = nodes;
+        this.ELAPSED_NANOS = elapsedNanos;
+    }
+
+    /**
+     * Accessor for the best turn found.
+     *
+     * @return the turn in the MoveGenerator layout, or null if the player to move has no turn
+     */
+    public int[] getTURN() {
+        return TURN;
+    }
+
+    /**
+     * Accessor for the score of the best turn.
+     *
+     * @return the score for the player to move; wins and losses lie beyond AlphaBetaSearch.WIN_THRESHOLD
+     */
+    public int getSCORE() {
+        return SCORE;
+    }
+
+    /**
+     * Accessor for the deepest completed iteration.
+     *
+     * @return the depth in turns, 0 if not even one iteration completed
+     */
+    public int getDEPTH() {
+        return DEPTH;
+    }
+
+    /**
+     * Accessor for the number of positions visited.
+     *
+     * @return the node count
+     */
+    public long getNODES() {
+        return NODES;
+    }
+
+    /**
+     * Accessor for the time spent searching.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getELAPSED_NANOS() {
+        return ELAPSED_NANOS;
+    }
+
+    /**
+     * Returns the search speed.
+     *
+     * @return the number of positions visited per second
+     */
+    public double getNodesPerSecond() {
+        return ELAPSED_NANOS == 0 ? 0 : NODES * 1e9 / ELAPSED_NANOS;
+    }
+
+    /**
+     * Returns a one-line summary of the search.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return "depth " + DEPTH + ", score " + SCORE + ", " + NODES + " nodes in " + (ELAPSED_NANOS / 1_000_000) + " ms";
+    }
+}
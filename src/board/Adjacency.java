@@ -0,0 +1,175 @@
+package board;
+
+/**
+ * The neighbourhood of every cell of a board, compiled once into two int arrays in compressed sparse row form.
+ * The neighbours of cell c are NEIGHBOURS[OFFSETS[c]] up to, excluding, NEIGHBOURS[OFFSETS[c + 1]], in the
+ * direction order of the board's Topology.
+ * The arrays are never modified after construction, so one instance is shared by the board's locations,
+ * every engine.GameState copied from it and the move generator.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public final class Adjacency {
+    private final Topology TOPOLOGY;
+    private final int[] OFFSETS;
+    private final int[] NEIGHBOURS;
+    private final int MAX_DEGREE;
+
+    /**
+     * Constructor for the Adjacency class.
+     *
+     * @param topology the topology the adjacency was compiled from
+     * @param offsets the start of each cell's neighbours, followed by the total neighbour count
+     * @param neighbours the neighbouring cells of every cell, one cell after the other
+     */
+    private Adjacency(Topology topology, int[] offsets, int[] neighbours) {
+        this.TOPOLOGY = topology;
+        this.OFFSETS = offsets;
+        this.NEIGHBOURS = neighbours;
+        int maxDegree = 0;
+        for (int cell = 0; cell + 1 < offsets.length; cell++) {
+            maxDegree = Math.max(maxDegree, offsets[cell + 1] - offsets[cell]);
+        }
+        this.MAX_DEGREE = maxDegree;
+    }
+
+    /**
+     * Compiles the neighbourhood of a grid of cells under a topology.
+     * Two passes over the grid: the first counts the neighbours of each cell, the second writes them,
+     * so no per-cell list or position object is ever allocated.
+     * A square reached in two directions, or the cell itself on a small torus, is a neighbour at most once.
+     *
+     * @param cellGrid the cell index at each grid square, row-major, or a negative value for a hole
+     * @param width the number of columns of the grid
+     * @param height the number of rows of the grid
+     * @param cellCount the number of cells, numbered 0 to cellCount - 1 in row-major order
+     * @param topology the topology of the grid
+     * @return the adjacency of the cells
+     * @throws IllegalArgumentException if the grid does not match its dimensions
+     */
+    public static Adjacency ofGrid(int[] cellGrid, int width, int height, int cellCount, Topology topology) {
+        if (cellGrid.length != width * height) {
+            throw new IllegalArgumentException("The grid should have " + width * height + " squares.");
+        }
+        int directions = topology.getDirectionCount();
+        boolean wraps = topology.wraps();
+        int[] found = new int[directions];
+        int[] offsets = new int[cellCount + 1];
+        for (int pass = 0; pass < 2; pass++) {
+            int[] neighbours = pass == 0 ? null : new int[offsets[cellCount]];
+            int written = 0;
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int cell = cellGrid[y * width + x];
+                    if (cell < 0) {
+                        continue;
+                    }
+                    int degree = 0;
+                    for (int direction = 0; direction < directions; direction++) {
+                        int square = topology.neighbour(x, y, direction, width, height);
+                        int neighbour = square < 0 ? -1 : cellGrid[square];
+                        if (neighbour < 0 || (wraps && (neighbour == cell || contains(found, degree, neighbour)))) continue;
+                        found[degree++] = neighbour;
+                    }
+                    if (neighbours == null) {
+                        offsets[cell + 1] = degree;
+                    } else {
+                        System.arraycopy(found, 0, neighbours, written, degree);
+                        written += degree;
+                    }
+                }
+            }
+            if (neighbours != null) {
+                return new Adjacency(topology, offsets, neighbours);
+            }
+            for (int cell = 0; cell < cellCount; cell++) {
+                offsets[cell + 1] += offsets[cell];
+            }
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    /**
+     * Check if the first entries of an array hold a value.
+     *
+     * @param values the array
+     * @param count the number of entries to look at
+     * @param value the value
+     * @return true if the value is among the first count entries
+     */
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the topology the adjacency was compiled from.
+     *
+     * @return The topology.
+     */
+    public Topology getTOPOLOGY() {
+        return this.TOPOLOGY;
+    }
+
+    /**
+     * Get the number of cells.
+     *
+     * @return The number of cells.
+     */
+    public int getCellCount() {
+        return this.OFFSETS.length - 1;
+    }
+
+    /**
+     * Get the number of neighbours of a cell.
+     *
+     * @param cell The cell index.
+     * @return The number of neighbouring cells.
+     */
+    public int degree(int cell) {
+        return this.OFFSETS[cell + 1] - this.OFFSETS[cell];
+    }
+
+    /**
+     * Get the largest number of neighbours of any cell.
+     *
+     * @return The maximum degree.
+     */
+    public int getMAX_DEGREE() {
+        return this.MAX_DEGREE;
+    }
+
+    /**
+     * Get the neighbour offsets: the neighbours of cell c are at OFFSETS[c] up to OFFSETS[c + 1] in NEIGHBOURS.
+     * The returned array is shared and must not be modified.
+     *
+     * @return The offset of each cell's neighbours, followed by the total neighbour count.
+     */
+    public int[] getOFFSETS() {
+        return this.OFFSETS;
+    }
+
+    /**
+     * Get the neighbouring cells of every cell, one cell after the other.
+     * The returned array is shared and must not be modified.
+     *
+     * @return The neighbour indices.
+     */
+    public int[] getNEIGHBOURS() {
+        return this.NEIGHBOURS;
+    }
+
+    /**
+     * Get the memory held by the two arrays, array headers included.
+     *
+     * @return The size in bytes, assuming 16-byte array headers.
+     */
+    public long memoryBytes() {
+        return 2 * 16L + 4L * (OFFSETS.length + NEIGHBOURS.length);
+    }
+}
@@ -1,27 +1,26 @@
 package board;
 
 
+import engine.Zobrist;
 import ground.Floor;
 import ground.Ground;
+import player.Player;
 import player.Worker;
 import player.WorkerLocationController;
 
-import javax.swing.*;
-import java.awt.*;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
+import java.util.function.IntConsumer;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 
 /**
  * Represent the board of the Santorini game.
+ * The board only holds the game model (locations, grounds and workers) and owns no Swing component,
+ * so it can be created and played on headlessly. See game.BoardView for the Swing view over it.
  *
  * @author Louis Jeremie Ing
  *
@@ -31,153 +30,223 @@ import java.nio.file.Paths;
  */
 
 public class Board{
-    private final JPanel BOARD_PANEL;
-    private final JScrollPane SCROLL_PANE;
-    private final Map<Position, Location> BOARD_LOCATIONS;
+    private static final int INITIAL_DIRTY_CAPACITY = 16;
+
+    private final int WIDTH;
+    private final int HEIGHT;
+    private final int[] CELL_GRID;
+    private final List<Location> CELLS;
+    private final Adjacency ADJACENCY;
     private final WorkerLocationController WORKER_LOCATION_CONTROLLER;
+    private final Zobrist ZOBRIST;
+    private long zobristKey;
+    // cells changed since the view last drained them, in change order, and the same cells as a set
+    private final BitSet DIRTY;
+    private int[] dirtyCells = new int[INITIAL_DIRTY_CAPACITY];
+    private int dirtyCount;
+    private final WorkerMobility MOBILITY;
 
 
 
     /**
      * Constructor for the board.Board class.
      * Initializes the board with a layout defined in a text file.
+     * The file may start with a line such as "topology: hex" choosing the Topology of the board, see MapLayout.
      *
      * @param configFilePath The txt config file containing the board layout.
      * @param numberOfPlayers The number of players for current gameplay.
+     * @throws IllegalArgumentException if the file is malformed or the board is too small.
      */
     public Board(URL configFilePath, int numberOfPlayers) throws IOException, URISyntaxException {
-        this.BOARD_PANEL = new JPanel();
-        this.BOARD_LOCATIONS = new HashMap<>();
         this.WORKER_LOCATION_CONTROLLER = new WorkerLocationController();
 
-        List<String> lines;
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(configFilePath.openStream()))) {
-            lines = reader.lines().toList();
-        } catch (IOException e) {
-            throw new IOException("Failed to load board configuration from resource.", e);
+        // One streaming pass over the file; rows with anything but X and O are rejected as they are read
+        MapLayout layout = MapLayout.read(configFilePath);
+        this.HEIGHT = layout.getHEIGHT();
+        this.WIDTH = layout.getWIDTH();
+
+        // Validate the board configuration
+        if (layout.getCellCount() <= numberOfPlayers * 2L) {
+            throw new IllegalArgumentException("The board should have at least more than " + (numberOfPlayers * 2L) + " locations.");
         }
 
+        this.CELLS = new ArrayList<>(layout.getCellCount());
+        for (int cellIndex = 0; cellIndex < layout.getCellCount(); cellIndex++) {
+            createLocation(new Position(layout.getCellX(cellIndex), layout.getCellY(cellIndex)));
+        }
+        this.CELL_GRID = layout.cellGrid();
 
+        // Compile the exits of every location once; Location.getExits reads them from here
+        this.ADJACENCY = Adjacency.ofGrid(CELL_GRID, WIDTH, HEIGHT, CELLS.size(), layout.getTOPOLOGY());
 
-        // Count the number of available positions ('X') in the board configuration
-        long positionCount = lines.stream()
-                .flatMapToInt(String::chars)
-                .filter(c -> c == 'X')
-                .count();
+        this.DIRTY = new BitSet(CELLS.size());
+        this.MOBILITY = new WorkerMobility(this);
+        this.ZOBRIST = Zobrist.forCells(CELLS.size());
+        this.zobristKey = ZOBRIST.emptyBoard();
+    }
 
 
-        int height = lines.size();
-        int width = lines.stream().mapToInt(String::length).max().orElse(0);
+    /**
+     * Get the width of the board, including holes.
+     *
+     * @return The number of columns of the board.
+     */
+    public int getWIDTH() {
+        return this.WIDTH;
+    }
 
+    /**
+     * Get the height of the board, including holes.
+     *
+     * @return The number of rows of the board.
+     */
+    public int getHEIGHT() {
+        return this.HEIGHT;
+    }
 
-        // Validate the board configuration
-        if (positionCount <= numberOfPlayers * 2L) {
-            throw new IllegalArgumentException("The board should have at least more than " + (numberOfPlayers * 2L) + " locations.");
-        }
+    /**
+     * Get the number of playable locations on the board.
+     *
+     * @return The number of locations.
+     */
+    public int getCellCount() {
+        return this.CELLS.size();
+    }
 
-        this.BOARD_PANEL.setLayout(new GridLayout(height, width));
-        this.SCROLL_PANE = new JScrollPane(
-                BOARD_PANEL,
-                JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
-                JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED
-        );
-
-        for (int y_axis = 0; y_axis < height; y_axis++) {
-            String line = lines.get(y_axis);
-            for (int x_axis = 0; x_axis < line.length(); x_axis++) {
-                char tile = line.charAt(x_axis);
-                if (tile == 'X') {
-                    Position pos = new Position(x_axis, y_axis);
-                    createLocation(pos);
-                }
-            }
-        }
+    /**
+     * Get the location with the specified cell index.
+     * Cell indices are assigned in row-major order of the board configuration, starting at 0.
+     *
+     * @param cellIndex The cell index of the location.
+     * @return The location with the specified cell index.
+     */
+    public Location locationAt(int cellIndex) {
+        return this.CELLS.get(cellIndex);
+    }
 
-        // Add adjacent exits only for existing positions
-        for (Position pos : BOARD_LOCATIONS.keySet()) {
-            Location from = BOARD_LOCATIONS.get(pos);
-            for (int dx = -1; dx <= 1; dx++) {
-                for (int dy = -1; dy <= 1; dy++) {
-                    if (dx == 0 && dy == 0) continue;
-                    Position to = new Position(pos.X + dx, pos.Y + dy);
-                    addExitFrom(from, to);
-                }
-            }
-        }
+    /**
+     * Get the location at the specified position.
+     *
+     * @param position The position of the location.
+     * @return The location at the specified position, or null if the position is a hole or outside the board.
+     */
+    public Location locationAt(Position position) {
+        int cellIndex = cellAt(position.X, position.Y);
+        return cellIndex < 0 ? null : this.CELLS.get(cellIndex);
+    }
 
-        // Reconstruct the layout with only valid tiles
-        for (int y_axis = 0; y_axis < height; y_axis++) {
-            for (int x_axis = 0; x_axis < width; x_axis++) {
-                Position pos = new Position(x_axis, y_axis);
-                Location loc = BOARD_LOCATIONS.get(pos);
-                if (loc != null) {
-                    BOARD_PANEL.add(loc.getLOCATION_BUTTON());
-                } else {
-                    BOARD_PANEL.add(new JLabel()); // filler for missing tiles
-                }
-            }
+    /**
+     * Get the cell index at the specified coordinates.
+     *
+     * @param x The column.
+     * @param y The row.
+     * @return The cell index, or -1 if the coordinates are a hole or outside the board.
+     */
+    public int cellAt(int x, int y) {
+        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
+            return -1;
         }
+        return this.CELL_GRID[y * WIDTH + x];
     }
 
+    /**
+     * Get the topology of the board.
+     *
+     * @return The topology named by the map file, SQUARE_8 by default.
+     */
+    public Topology getTOPOLOGY() {
+        return this.ADJACENCY.getTOPOLOGY();
+    }
 
     /**
-     * Get the JPanel representing the board.
+     * Get the compiled neighbourhood of the cells, shared by the locations, the game states and the view.
      *
-     * @return The JPanel representing the board.
+     * @return The adjacency of the board.
      */
-    public JPanel getBOARD_PANEL(){
-        return this.BOARD_PANEL;
+    public Adjacency getADJACENCY() {
+        return this.ADJACENCY;
     }
 
     /**
-     * Get the JScrollPane containing the board panel.
+     * Get the Zobrist key table of the board.
      *
-     * @return The JScrollPane containing the board panel.
+     * @return The Zobrist key table.
      */
-    public JScrollPane getSCROLL_PANE(){
-        return this.SCROLL_PANE;
+    public Zobrist getZOBRIST() {
+        return this.ZOBRIST;
     }
 
     /**
-     * Get all locations on the board.
+     * Get the Zobrist key of the current position: grounds, workers, player to move and god card phase.
      *
-     * @return A list of all locations on the board.
+     * @return The 64-bit position key.
      */
-    public List<Location> allLocations() {
-        return new ArrayList<>(BOARD_LOCATIONS.values());
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * XOR a change into the Zobrist key of the position, e.g. the old and new key of a rebuilt ground.
+     *
+     * @param keyChange The XOR of the keys of the features that changed.
+     */
+    public void updateZobristKey(long keyChange) {
+        this.zobristKey ^= keyChange;
     }
 
     /**
-     * Add an exit from the specified location to the specified position.
+     * Record that a location changed, i.e. its ground or worker, so that the view redraws it
+     * and the mobility of the workers around it is recounted.
      *
-     * @param from The location from which to add the exit.
-     * @param position The position to which the exit leads.
+     * @param cellIndex The cell index of the location.
      */
-    public void addExitFrom(Location from, Position position) {
-        if (this.BOARD_LOCATIONS.get(position) != null){
-            from.addExit(this.at(position));
+    void markDirty(int cellIndex) {
+        MOBILITY.markStale(cellIndex);
+        if (DIRTY.get(cellIndex)) {
+            return;
+        }
+        DIRTY.set(cellIndex);
+        if (dirtyCount == dirtyCells.length) {
+            dirtyCells = Arrays.copyOf(dirtyCells, dirtyCount * 2);
         }
+        dirtyCells[dirtyCount++] = cellIndex;
     }
 
     /**
-     * Create a new location on the board at the specified position.
+     * Hand every location changed since the last call to a consumer, once each, and forget them.
+     * Costs the number of changed locations, not the size of the board.
      *
-     * @param position The position of the new location.
+     * @param consumer The consumer of the cell indices.
      */
-    public void createLocation(Position position){
-        Location newLocation = new Location(this, position, new Floor());
+    public void drainDirtyCells(IntConsumer consumer) {
+        int count = dirtyCount;
+        dirtyCount = 0;
+        for (int i = 0; i < count; i++) {
+            DIRTY.clear(dirtyCells[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            consumer.accept(dirtyCells[i]);
+        }
+    }
 
-        this.BOARD_LOCATIONS.put(position, newLocation);
+    /**
+     * Get all locations on the board.
+     *
+     * @return A list of all locations on the board.
+     */
+    public List<Location> allLocations() {
+        return new ArrayList<>(CELLS);
     }
 
     /**
-     * Get the location at the specified position.
+     * Create a new location on the board at the specified position.
+     * Only called while the board is read, before its adjacency is compiled.
      *
-     * @param position The position of the location.
-     * @return The location at the specified position.
+     * @param position The position of the new location.
      */
-    private Location at(Position position) {
-        return this.BOARD_LOCATIONS.get(position);
+    private void createLocation(Position position){
+        Location newLocation = new Location(this, position, this.CELLS.size(), Floor.FLOOR);
+        this.CELLS.add(newLocation);
     }
 
     /**
@@ -197,7 +266,12 @@ public class Board{
      * @param location The location to move the worker to.
      */
     public void moveWorker(Worker worker, Location location){
+        Location from = WORKER_LOCATION_CONTROLLER.locationOfWorker(worker);
         WORKER_LOCATION_CONTROLLER.moveWorker(worker, location);
+        if (from != null) {
+            markDirty(from.getCELL_INDEX());
+        }
+        markDirty(location.getCELL_INDEX());
     }
 
     /**
@@ -208,7 +282,9 @@ public class Board{
      */
     protected void addWorker(Worker worker, Location location){
         WORKER_LOCATION_CONTROLLER.addWorker(worker, location);
+        markDirty(location.getCELL_INDEX());
         location.getGround().addCap(worker);
+        this.zobristKey ^= ZOBRIST.worker(location.getCELL_INDEX(), worker.getPlayer().getID());
     }
 
     /**
@@ -217,6 +293,11 @@ public class Board{
      * @param worker The worker to remove.
      */
     public void removeWorker(Worker worker){
+        Location location = WORKER_LOCATION_CONTROLLER.locationOfWorker(worker);
+        if (location != null) {
+            this.zobristKey ^= ZOBRIST.worker(location.getCELL_INDEX(), worker.getPlayer().getID());
+            markDirty(location.getCELL_INDEX());
+        }
         WORKER_LOCATION_CONTROLLER.removeWorker(worker);
     }
 
@@ -230,6 +311,29 @@ public class Board{
         return WORKER_LOCATION_CONTROLLER.isWorkerAt(location);
     }
 
+    /**
+     * Get the number of locations a worker can move to.
+     * Kept up to date around the locations that changed since the last check, see WorkerMobility.
+     *
+     * @param worker The worker.
+     * @return The number of exits the worker can travel to, 0 if it is not on the board.
+     */
+    public int getMobility(Worker worker){
+        Location location = WORKER_LOCATION_CONTROLLER.locationOfWorker(worker);
+        return location == null ? 0 : MOBILITY.getMoves(location);
+    }
+
+    /**
+     * Check if a player is trapped, i.e. none of their workers on the board can move.
+     * Costs the locations changed since the last check, not a scan of every worker's exits.
+     *
+     * @param player The player.
+     * @return True if no worker of the player can move.
+     */
+    public boolean isTrapped(Player player){
+        return MOBILITY.isTrapped(player);
+    }
+
     /**
      * Get the location of the specified worker.
      *
@@ -239,25 +343,4 @@ public class Board{
     public Location locationOfWorker(Worker worker){
         return WORKER_LOCATION_CONTROLLER.locationOfWorker(worker);
     }
-
-    /**
-     * Refresh the UI of the board.
-     */
-    public void refreshBoardUI() {
-        for (Location loc : allLocations()) {
-            JButton button = loc.getLOCATION_BUTTON();
-            Worker worker = getWorkerAt(loc);
-            if (worker!=null) {
-                ImageIcon icon = worker.getICON();
-                Image img = icon.getImage().getScaledInstance(30,30, Image.SCALE_SMOOTH);
-                ImageIcon newIcon = new ImageIcon(img);
-                button.setIcon(newIcon);
-            } else {
-                button.setIcon(null);
-            }
-            Ground ground = loc.getGround();
-            String groundText = ground.toString();
-            button.setText(groundText);
-        }
-    }
 }
@@ -1,17 +1,17 @@
 package board;
 
-import game.GameComponentUI;
 import ground.Ground;
 import player.Worker;
 
-import javax.swing.*;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 import static capability.Capability.BUILD_BELOW_WORKER_ON_TOWER;
 
 /**
  * Represent one location on the board.
+ * A location is pure game model; game.BoardView draws it.
  *
  * @author Louis Jeremie Ing
  *
@@ -21,11 +21,11 @@ import static capability.Capability.BUILD_BELOW_WORKER_ON_TOWER;
  */
 
 public class Location {
-    private final JButton LOCATION_BUTTON;
     private final Board BOARD;
     private final Position POSITION;
+    private final int CELL_INDEX;
     private Ground ground;
-    private List<Location> exits = new ArrayList<>();
+    private final List<Location> EXITS = new Exits();
 
     /**
      * Constructor for the board.Location class.
@@ -33,20 +33,14 @@ public class Location {
      *
      * @param board The board to which this location belongs.
      * @param position The position of this location on the board.
+     * @param cellIndex The index of this location among all locations of the board.
      * @param ground The ground of this location.
      */
-    public Location(Board board, Position position, Ground ground) {
+    public Location(Board board, Position position, int cellIndex, Ground ground) {
         this.BOARD = board;
         this.POSITION = position;
+        this.CELL_INDEX = cellIndex;
         this.ground = ground;
-        this.LOCATION_BUTTON = GameComponentUI.createLocationButton();
-        this.LOCATION_BUTTON.setBounds(
-                position.X * GameComponentUI.getLocationButtonWidth(),
-                position.Y * GameComponentUI.getLocationButtonHeight(),
-                GameComponentUI.getLocationButtonWidth(),
-                GameComponentUI.getLocationButtonHeight()
-        );
-        this.BOARD.getBOARD_PANEL().add(this.LOCATION_BUTTON);
     }
 
     /**
@@ -74,6 +68,7 @@ public class Location {
      */
     public void setGround(Ground ground){
         this.ground = ground;
+        this.BOARD.markDirty(this.CELL_INDEX);
     }
 
     /**
@@ -111,22 +106,14 @@ public class Location {
         } else return worker.getCAPABILITIES_CONTROLLER().hasCapability(BUILD_BELOW_WORKER_ON_TOWER) && ground.canWorkerBuild(worker) && getWorker() == worker && ground.getLevel() != 3;
     }
 
-    /**
-     * Add an exit location to this location.
-     *
-     * @param exit The exit to be added.
-     */
-    public void addExit (Location exit) {
-        this.exits.add(exit);
-    }
-
     /**
      * Get the list of exit locations from this location.
+     * The list is a read-only view of the board's Adjacency, so it allocates nothing per location.
      *
      * @return The list of exit locations.
      */
     public List<Location> getExits() {
-        return this.exits;
+        return this.EXITS;
     }
 
     /**
@@ -139,12 +126,21 @@ public class Location {
     }
 
     /**
-     * Get the button associated with this location.
+     * Get the position of this location on the board.
+     *
+     * @return The position of this location.
+     */
+    public Position getPOSITION() {
+        return this.POSITION;
+    }
+
+    /**
+     * Get the cell index of this location, i.e. its index in Board.locationAt(int).
      *
-     * @return The button of this location.
+     * @return The cell index of this location.
      */
-    public JButton getLOCATION_BUTTON(){
-        return this.LOCATION_BUTTON;
+    public int getCELL_INDEX() {
+        return this.CELL_INDEX;
     }
 
     /**
@@ -165,4 +161,36 @@ public class Location {
     public int hashCode() {
         return this.POSITION.hashCode();
     }
+
+    /**
+     * The exits of this location, read from the neighbours of its cell in the board's Adjacency.
+     */
+    private class Exits extends AbstractList<Location> implements RandomAccess {
+        /**
+         * Get an exit.
+         *
+         * @param index The index of the exit.
+         * @return The exit location.
+         * @throws IndexOutOfBoundsException if there is no such exit.
+         */
+        @Override
+        public Location get(int index) {
+            Adjacency adjacency = BOARD.getADJACENCY();
+            int start = adjacency.getOFFSETS()[CELL_INDEX];
+            if (index < 0 || index >= adjacency.getOFFSETS()[CELL_INDEX + 1] - start) {
+                throw new IndexOutOfBoundsException("Exit " + index + " of " + size());
+            }
+            return BOARD.locationAt(adjacency.getNEIGHBOURS()[start + index]);
+        }
+
+        /**
+         * Get the number of exits.
+         *
+         * @return The number of neighbouring locations.
+         */
+        @Override
+        public int size() {
+            return BOARD.getADJACENCY().degree(CELL_INDEX);
+        }
+    }
 }
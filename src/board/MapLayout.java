@@ -0,0 +1,262 @@
+package board;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.Arrays;
+
+/**
+ * The layout of a map file: its topology, its size and the coordinates of its cells.
+ * The file is parsed in a single streaming pass over its characters, so loading costs two ints per cell and no
+ * String per row, whatever the size of the map. X is a cell and O a hole; a first line such as "topology: hex"
+ * names the Topology, recognised by Topology.isHeader. Any other character stops the load at the row it appears in.
+ * Cells are numbered in row-major order, the order the board gives them their cell index.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class MapLayout {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_CELLS = 64;
+
+    private final Topology TOPOLOGY;
+    private final int WIDTH;
+    private final int HEIGHT;
+    private final int CELL_COUNT;
+    private final int[] CELL_X;
+    private final int[] CELL_Y;
+
+    /**
+     * Constructor for the MapLayout class.
+     *
+     * @param topology the topology named by the header
+     * @param width the length of the longest row
+     * @param height the number of rows
+     * @param cellCount the number of cells
+     * @param cellX the column of each cell, possibly longer than cellCount
+     * @param cellY the row of each cell, possibly longer than cellCount
+     */
+    private MapLayout(Topology topology, int width, int height, int cellCount, int[] cellX, int[] cellY) {
+        this.TOPOLOGY = topology;
+        this.WIDTH = width;
+        this.HEIGHT = height;
+        this.CELL_COUNT = cellCount;
+        this.CELL_X = cellX;
+        this.CELL_Y = cellY;
+    }
+
+    /**
+     * Load the layout of a map file.
+     *
+     * @param configFilePath The txt config file containing the board layout.
+     * @return The layout.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is malformed.
+     */
+    public static MapLayout read(URL configFilePath) throws IOException {
+        try (Reader reader = new InputStreamReader(configFilePath.openStream())) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new IOException("Failed to load board configuration from resource.", e);
+        }
+    }
+
+    /**
+     * Parse the layout of a map given as text.
+     *
+     * @param map The map, one row per line.
+     * @return The layout.
+     * @throws IllegalArgumentException if the map is malformed.
+     */
+    public static MapLayout parse(String map) {
+        try {
+            return parse(new StringReader(map));
+        } catch (IOException e) {
+            throw new IllegalStateException("A string cannot fail to be read", e);
+        }
+    }
+
+    /**
+     * Parse the layout of a map in one pass over its characters. The reader is not closed.
+     *
+     * @param reader The reader of the map.
+     * @return The layout.
+     * @throws IOException if the reader fails.
+     * @throws IllegalArgumentException if the map is malformed.
+     */
+    public static MapLayout parse(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, BUFFER_SIZE);
+        Topology topology = Topology.SQUARE_8;
+        int[] cellX = new int[INITIAL_CELLS];
+        int[] cellY = new int[INITIAL_CELLS];
+        int cellCount = 0;
+        int width = 0;
+        int row = 0;
+        int column = 0;
+        int line = 1;
+
+        // Only the first line may be a header. A row starts with X, O or a line break, so the first character
+        // tells them apart and only a header line is read as a String
+        in.mark(1);
+        int first = in.read();
+        in.reset();
+        if (first >= 0 && first != 'X' && first != 'O' && first != '\r' && first != '\n') {
+            String header = in.readLine();
+            if (!Topology.isHeader(header)) {
+                throw new IllegalArgumentException("Malformed map at line 1, column 1: unexpected '" + (char) first
+                        + "', only X and O are allowed.");
+            }
+            topology = Topology.fromHeader(header);
+            line++;
+        }
+
+        char[] buffer = new char[BUFFER_SIZE];
+        int length;
+        while ((length = in.read(buffer)) > 0) {
+            for (int i = 0; i < length; i++) {
+                char tile = buffer[i];
+                switch (tile) {
+                    case 'X' -> {
+                        if (cellCount == cellX.length) {
+                            cellX = Arrays.copyOf(cellX, cellCount * 2);
+                            cellY = Arrays.copyOf(cellY, cellCount * 2);
+                        }
+                        cellX[cellCount] = column;
+                        cellY[cellCount] = row;
+                        cellCount++;
+                        column++;
+                    }
+                    case 'O' -> column++;
+                    case '\r' -> { }
+                    case '\n' -> {
+                        width = Math.max(width, column);
+                        row++;
+                        line++;
+                        column = 0;
+                    }
+                    default -> throw new IllegalArgumentException("Malformed map at line " + line + ", column "
+                            + (column + 1) + ": unexpected '" + tile + "', only X and O are allowed.");
+                }
+            }
+        }
+        // The last row needs no line break
+        if (column > 0) {
+            width = Math.max(width, column);
+            row++;
+        }
+        if ((long) width * row > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The map has more than " + Integer.MAX_VALUE + " squares.");
+        }
+        return new MapLayout(topology, width, row, cellCount, cellX, cellY);
+    }
+
+    /**
+     * Get the topology named by the map header.
+     *
+     * @return The topology, SQUARE_8 without a header.
+     */
+    public Topology getTOPOLOGY() {
+        return this.TOPOLOGY;
+    }
+
+    /**
+     * Get the width of the map, including holes.
+     *
+     * @return The length of the longest row.
+     */
+    public int getWIDTH() {
+        return this.WIDTH;
+    }
+
+    /**
+     * Get the height of the map, including holes.
+     *
+     * @return The number of rows.
+     */
+    public int getHEIGHT() {
+        return this.HEIGHT;
+    }
+
+    /**
+     * Get the number of cells of the map.
+     *
+     * @return The number of X squares.
+     */
+    public int getCellCount() {
+        return this.CELL_COUNT;
+    }
+
+    /**
+     * Get the column of a cell.
+     *
+     * @param cellIndex The cell index.
+     * @return The x coordinate.
+     */
+    public int getCellX(int cellIndex) {
+        return this.CELL_X[cellIndex];
+    }
+
+    /**
+     * Get the row of a cell.
+     *
+     * @param cellIndex The cell index.
+     * @return The y coordinate.
+     */
+    public int getCellY(int cellIndex) {
+        return this.CELL_Y[cellIndex];
+    }
+
+    /**
+     * Lay the cell indices out on the grid of the map.
+     *
+     * @return The cell index at each square, row-major, or -1 for a hole.
+     */
+    public int[] cellGrid() {
+        int[] grid = new int[WIDTH * HEIGHT];
+        Arrays.fill(grid, -1);
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            grid[CELL_Y[cell] * WIDTH + CELL_X[cell]] = cell;
+        }
+        return grid;
+    }
+
+    /**
+     * Loads a board and prints its size, load time and the heap it holds.
+     * Usage: MapLayout &lt;map file&gt; [players]
+     *
+     * @param args the map file and the number of players (2 by default)
+     * @throws Exception if the map cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: MapLayout <map file> [players]");
+            return;
+        }
+        URL mapPath = new File(args[0]).toURI().toURL();
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Runtime runtime = Runtime.getRuntime();
+
+        long start = System.nanoTime();
+        MapLayout layout = read(mapPath);
+        long parseNanos = System.nanoTime() - start;
+        System.out.printf("%s %d x %d, %d cells%n", layout.getTOPOLOGY().getNAME(), layout.getWIDTH(),
+                layout.getHEIGHT(), layout.getCellCount());
+        layout = null;
+
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        start = System.nanoTime();
+        Board board = new Board(mapPath, players);
+        long buildNanos = System.nanoTime() - start;
+        System.gc();
+        long heap = runtime.totalMemory() - runtime.freeMemory() - heapBefore;
+
+        System.out.printf("parse %d ms, board %d ms (parse included), board heap %.1f MB (%.0f bytes per cell), "
+                        + "adjacency %.1f MB%n", parseNanos / 1_000_000, buildNanos / 1_000_000, heap / 1e6,
+                (double) heap / Math.max(board.getCellCount(), 1), board.getADJACENCY().memoryBytes() / 1e6);
+    }
+}
@@ -0,0 +1,148 @@
+package board;
+
+/**
+ * The ways locations of a board can neighbour each other.
+ * A map file picks one with a first line such as "topology: hex"; without it the board is SQUARE_8.
+ * Every topology works on the same rectangular grid of map characters and only changes which squares are
+ * neighbours, so it is compiled once into an Adjacency and costs nothing afterwards.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public enum Topology {
+    /**
+     * Square grid, eight neighbours including the diagonals: the standard Santorini board.
+     */
+    SQUARE_8("square-8", false,
+            new int[][]{{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}},
+            new int[][]{{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}}),
+
+    /**
+     * Square grid, four orthogonal neighbours.
+     */
+    SQUARE_4("square-4", false,
+            new int[][]{{-1, 0}, {0, -1}, {0, 1}, {1, 0}},
+            new int[][]{{-1, 0}, {0, -1}, {0, 1}, {1, 0}}),
+
+    /**
+     * Hexagonal grid with pointy-topped cells, every odd row shifted half a cell to the right.
+     */
+    HEX("hex", false,
+            new int[][]{{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, 0}},
+            new int[][]{{-1, 0}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}}),
+
+    /**
+     * Square grid, eight neighbours, where the edges wrap around to the opposite side.
+     */
+    TORUS("torus", true,
+            new int[][]{{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}},
+            new int[][]{{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+
+    /**
+     * Prefix of the optional first line of a map file naming its topology.
+     */
+    public static final String HEADER = "topology:";
+
+    private final String NAME;
+    private final boolean WRAPS;
+    // {dx, dy} of each direction, for even and odd rows
+    private final int[][] EVEN_ROW_OFFSETS;
+    private final int[][] ODD_ROW_OFFSETS;
+
+    /**
+     * Constructor for the Topology enum.
+     *
+     * @param name the name used in map headers
+     * @param wraps true if the edges of the grid wrap around
+     * @param evenRowOffsets the column and row offset of each direction from a square on an even row
+     * @param oddRowOffsets the column and row offset of each direction from a square on an odd row
+     */
+    Topology(String name, boolean wraps, int[][] evenRowOffsets, int[][] oddRowOffsets) {
+        this.NAME = name;
+        this.WRAPS = wraps;
+        this.EVEN_ROW_OFFSETS = evenRowOffsets;
+        this.ODD_ROW_OFFSETS = oddRowOffsets;
+    }
+
+    /**
+     * Get the number of directions, i.e. the most neighbours a location can have.
+     *
+     * @return The number of directions.
+     */
+    public int getDirectionCount() {
+        return this.EVEN_ROW_OFFSETS.length;
+    }
+
+    /**
+     * Check if the edges of the grid wrap around, so that two directions may reach the same square.
+     *
+     * @return True for a torus.
+     */
+    public boolean wraps() {
+        return this.WRAPS;
+    }
+
+    /**
+     * Get the square one step away from a square in a direction.
+     * On a torus this may be the square itself, or the same square in two directions, on grids narrower than three.
+     *
+     * @param x The column of the square.
+     * @param y The row of the square.
+     * @param direction The direction, from 0 to getDirectionCount() - 1.
+     * @param width The number of columns of the grid.
+     * @param height The number of rows of the grid.
+     * @return The row-major index of the neighbouring square, or -1 if the step leaves the grid.
+     */
+    public int neighbour(int x, int y, int direction, int width, int height) {
+        int[] offset = (y & 1) == 0 ? EVEN_ROW_OFFSETS[direction] : ODD_ROW_OFFSETS[direction];
+        int nx = x + offset[0];
+        int ny = y + offset[1];
+        if (WRAPS) {
+            nx = Math.floorMod(nx, width);
+            ny = Math.floorMod(ny, height);
+        } else if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+            return -1;
+        }
+        return ny * width + nx;
+    }
+
+    /**
+     * Get the name of the topology as written in map headers.
+     *
+     * @return The name, e.g. "square-8".
+     */
+    public String getNAME() {
+        return this.NAME;
+    }
+
+    /**
+     * Check if a map line is a topology header.
+     *
+     * @param line The line.
+     * @return True if the line starts with HEADER in any case, after leading whitespace.
+     */
+    public static boolean isHeader(String line) {
+        String stripped = line.strip();
+        return stripped.regionMatches(true, 0, HEADER, 0, HEADER.length());
+    }
+
+    /**
+     * Get the topology named by a map header.
+     *
+     * @param line The header line, e.g. "topology: torus".
+     * @return The topology.
+     * @throws IllegalArgumentException if the line is not a header or names no topology.
+     */
+    public static Topology fromHeader(String line) {
+        if (!isHeader(line)) {
+            throw new IllegalArgumentException("Not a topology header: " + line);
+        }
+        String name = line.strip().substring(HEADER.length()).strip();
+        for (Topology topology : values()) {
+            if (topology.NAME.equalsIgnoreCase(name)) {
+                return topology;
+            }
+        }
+        throw new IllegalArgumentException("Unknown topology: " + name);
+    }
+}
@@ -0,0 +1,171 @@
+package board;
+
+import player.Player;
+import player.Worker;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The number of locations each worker of a board can move to, and the number of workers of each player that can
+ * move at all, so that checking whether a player is trapped is a single lookup.
+ * The board reports every location whose ground or worker changes. The counts of the workers on and next to those
+ * locations are brought up to date when they are next read, once the actions have also updated the capabilities
+ * of the workers, so a check costs the changed locations and their exits, whatever the size of the board.
+ * Neighbourhoods are symmetric, so the workers that may move onto a location are the workers on its exits.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+final class WorkerMobility {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Board BOARD;
+    // the worker counted at each cell and the number of cells it can move to
+    private final Worker[] COUNTED;
+    private final int[] MOVES;
+    // cells changed since the counts were last brought up to date, in change order, and the same cells as a set
+    private final BitSet STALE;
+    private int[] staleCells = new int[INITIAL_CAPACITY];
+    private int staleCount;
+    // cells recounted while bringing the counts up to date, so that each is recounted once
+    private final BitSet RECOUNTED;
+    private int[] recountedCells = new int[INITIAL_CAPACITY];
+    private int recountedCount;
+    // workers that can move, by player id
+    private int[] mobileWorkers = new int[INITIAL_CAPACITY];
+
+    /**
+     * Constructor for the WorkerMobility class, for a board without workers.
+     *
+     * @param board The board.
+     */
+    WorkerMobility(Board board) {
+        int cellCount = board.getCellCount();
+        this.BOARD = board;
+        this.COUNTED = new Worker[cellCount];
+        this.MOVES = new int[cellCount];
+        this.STALE = new BitSet(cellCount);
+        this.RECOUNTED = new BitSet(cellCount);
+    }
+
+    /**
+     * Record that the ground or worker of a location changed.
+     *
+     * @param cellIndex The cell index of the location.
+     */
+    void markStale(int cellIndex) {
+        if (STALE.get(cellIndex)) {
+            return;
+        }
+        STALE.set(cellIndex);
+        if (staleCount == staleCells.length) {
+            staleCells = Arrays.copyOf(staleCells, staleCount * 2);
+        }
+        staleCells[staleCount++] = cellIndex;
+    }
+
+    /**
+     * Get the number of locations a worker can move to.
+     *
+     * @param location The location of the worker.
+     * @return The number of exits the worker can travel to, 0 if the location has no worker.
+     */
+    int getMoves(Location location) {
+        settle();
+        return MOVES[location.getCELL_INDEX()];
+    }
+
+    /**
+     * Check if none of the workers of a player can move.
+     *
+     * @param player The player.
+     * @return True if the player has no worker on the board able to move.
+     */
+    boolean isTrapped(Player player) {
+        settle();
+        int id = player.getID();
+        return id < 0 || id >= mobileWorkers.length || mobileWorkers[id] == 0;
+    }
+
+    /**
+     * Recount the workers on and next to every stale location, each once.
+     */
+    private void settle() {
+        if (staleCount == 0) {
+            return;
+        }
+        int[] offsets = BOARD.getADJACENCY().getOFFSETS();
+        int[] neighbours = BOARD.getADJACENCY().getNEIGHBOURS();
+        for (int i = 0; i < staleCount; i++) {
+            int cell = staleCells[i];
+            STALE.clear(cell);
+            recountOnce(cell);
+            for (int j = offsets[cell]; j < offsets[cell + 1]; j++) {
+                recountOnce(neighbours[j]);
+            }
+        }
+        staleCount = 0;
+        for (int i = 0; i < recountedCount; i++) {
+            RECOUNTED.clear(recountedCells[i]);
+        }
+        recountedCount = 0;
+    }
+
+    /**
+     * Recount the worker at a cell unless it was already recounted while settling.
+     *
+     * @param cell The cell index.
+     */
+    private void recountOnce(int cell) {
+        if (RECOUNTED.get(cell)) {
+            return;
+        }
+        RECOUNTED.set(cell);
+        if (recountedCount == recountedCells.length) {
+            recountedCells = Arrays.copyOf(recountedCells, recountedCount * 2);
+        }
+        recountedCells[recountedCount++] = cell;
+        recount(cell);
+    }
+
+    /**
+     * Replace the count of a cell by the moves of the worker now standing on it, if any.
+     *
+     * @param cell The cell index.
+     */
+    private void recount(int cell) {
+        Location location = BOARD.locationAt(cell);
+        Worker worker = BOARD.getWorkerAt(location);
+        int moves = 0;
+        if (worker != null) {
+            for (Location exit : location.getExits()) {
+                if (exit.canWorkerTravel(worker)) {
+                    moves++;
+                }
+            }
+        }
+        if (COUNTED[cell] != null && MOVES[cell] > 0) {
+            addMobileWorker(COUNTED[cell].getPlayer(), -1);
+        }
+        COUNTED[cell] = worker;
+        MOVES[cell] = moves;
+        if (worker != null && moves > 0) {
+            addMobileWorker(worker.getPlayer(), 1);
+        }
+    }
+
+    /**
+     * Change the number of workers of a player that can move.
+     *
+     * @param player The player.
+     * @param change -1 or 1.
+     */
+    private void addMobileWorker(Player player, int change) {
+        int id = player.getID();
+        if (id >= mobileWorkers.length) {
+            mobileWorkers = Arrays.copyOf(mobileWorkers, Math.max(id + 1, mobileWorkers.length * 2));
+        }
+        mobileWorkers[id] += change;
+    }
+}
@@ -1,26 +1,49 @@
 package capability;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * CapabilityController manages a set of capabilities represented as Enums.
  * It allows adding, removing, and checking for capabilities.
+ * The set is a single long bitmask with one bit per Capability ordinal, so every update or check is a bit operation.
  *
  * @author Yong Han Lee
  * @version 2.0
  * @Modified by: Louis Jeremie Ing
  */
 public class CapabilityController {
-    private Set<Enum<?>> capabilities;
+    private long capabilities;
 
     /**
      * Constructor for the CapabilityController class.
      * Initializes an empty set of capabilities.
      */
     public CapabilityController() {
-        this.capabilities = new HashSet<>();
+        this.capabilities = 0L;
+    }
+
+    /**
+     * Returns the bit of a capability in a capability mask.
+     *
+     * @param capability The capability, one of the Capability values.
+     * @return The mask holding only that capability.
+     */
+    public static long maskOf(Enum<?> capability) {
+        return 1L << capability.ordinal();
+    }
+
+    /**
+     * Returns the capability mask of a list of capabilities.
+     *
+     * @param capabilities The capabilities.
+     * @return The mask holding all the capabilities.
+     */
+    public static long maskOf(List<Enum<?>> capabilities) {
+        long mask = 0L;
+        for (Enum<?> capability : capabilities) {
+            mask |= maskOf(capability);
+        }
+        return mask;
     }
 
     /**
@@ -29,7 +52,7 @@ public class CapabilityController {
      * @param capability The capability to add.
      */
     public void addCapability(Enum<?> capability) {
-        this.capabilities.add(capability);
+        this.capabilities |= maskOf(capability);
     }
 
     /**
@@ -38,7 +61,16 @@ public class CapabilityController {
      * @param capabilities The list of capabilities to add.
      */
     public void addCapability(List<Enum<?>> capabilities) {
-        this.capabilities.addAll(capabilities);
+        this.capabilities |= maskOf(capabilities);
+    }
+
+    /**
+     * Adds every capability of a mask to the set of capabilities.
+     *
+     * @param mask The capabilities to add, as built by maskOf.
+     */
+    public void addCapabilities(long mask) {
+        this.capabilities |= mask;
     }
 
     /**
@@ -47,7 +79,7 @@ public class CapabilityController {
      * @param capability The capability to remove.
      */
     public void removeCapability(Enum<?> capability) {
-        this.capabilities.remove(capability);
+        this.capabilities &= ~maskOf(capability);
     }
 
     /**
@@ -56,7 +88,16 @@ public class CapabilityController {
      * @param capabilities The list of capabilities to remove.
      */
     public void removeCapability(List<Enum<?>> capabilities) {
-        this.capabilities.removeAll(capabilities);
+        this.capabilities &= ~maskOf(capabilities);
+    }
+
+    /**
+     * Removes every capability of a mask from the set of capabilities.
+     *
+     * @param mask The capabilities to remove, as built by maskOf.
+     */
+    public void removeCapabilities(long mask) {
+        this.capabilities &= ~mask;
     }
 
     /**
@@ -66,6 +107,15 @@ public class CapabilityController {
      * @return true if the capability is present, false otherwise.
      */
     public boolean hasCapability(Enum<?> capability) {
-        return this.capabilities.contains(capability);
+        return (this.capabilities & maskOf(capability)) != 0;
+    }
+
+    /**
+     * Returns the whole set of capabilities.
+     *
+     * @return The mask of the capabilities, one bit per Capability ordinal.
+     */
+    public long getMask() {
+        return this.capabilities;
     }
 }
@@ -0,0 +1,393 @@
+package engine;
+
+import board.Adjacency;
+import capability.Capability;
+
+import java.util.Arrays;
+
+/**
+ * A bitboard of a board with at most 128 cells, kept by GameState next to its arrays.
+ * Cell c is the bit (c mod 64) of word (c / 64), in the cell numbering of the board: holes are not cells, so they
+ * never have a bit and every mask is hole-free; PLAYABLE marks the cells themselves. Every mask is two longs (low
+ * word, high word): one per tower level, one for domes, one for every worker and one per player for its workers,
+ * all in one array so that copying a position is a single arraycopy.
+ * The neighbours of every cell are precomputed from the board's Adjacency, whatever its topology, so move and
+ * build legality are a handful of AND/OR operations over two words.
+ * Legality follows the capabilities of the worker, like GameState.canTravelWith and GameState.canWorkerBuild:
+ * a level can be stepped on only with its MOVE_TO_* capability, building needs BUILD, and
+ * BUILD_BELOW_WORKER_ON_TOWER (Zeus) adds the worker's own cell below a third level.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public final class BitBoard {
+    /**
+     * Largest number of cells a bitboard can hold.
+     */
+    public static final int MAX_CELLS = 128;
+
+    private static final int WORDS = 2;
+    // offsets of the masks in the position array
+    private static final int LEVELS = 0;
+    private static final int DOMES = LEVELS + (GameState.MAX_LEVEL + 1) * WORDS;
+    private static final int OCCUPIED = DOMES + WORDS;
+    private static final int WORKERS = OCCUPIED + WORDS;
+    private static final long[] MOVE_TO_LEVEL = {
+            GameState.maskOf(Capability.MOVE_TO_FLOOR),
+            GameState.maskOf(Capability.MOVE_TO_TOWER_1),
+            GameState.maskOf(Capability.MOVE_TO_TOWER_2),
+            GameState.maskOf(Capability.MOVE_TO_TOWER_3)
+    };
+    private static final long BUILD = GameState.maskOf(Capability.BUILD);
+    private static final long BUILD_BELOW = GameState.maskOf(Capability.BUILD_BELOW_WORKER_ON_TOWER);
+
+    // layout, shared between copies
+    private final int CELL_COUNT;
+    private final long[] PLAYABLE;
+    private final long[] NEIGHBOURS;
+
+    // position
+    private final long[] masks;
+
+    /**
+     * Constructor for an empty bitboard: every cell is a floor and no worker is placed.
+     *
+     * @param adjacency the neighbouring cells of each cell
+     * @param playerCount the number of players
+     * @throws IllegalArgumentException if the board has more than MAX_CELLS cells
+     */
+    public BitBoard(Adjacency adjacency, int playerCount) {
+        int cellCount = adjacency.getCellCount();
+        if (cellCount > MAX_CELLS) {
+            throw new IllegalArgumentException("A bitboard holds at most " + MAX_CELLS + " cells, got " + cellCount);
+        }
+        this.CELL_COUNT = cellCount;
+        this.PLAYABLE = new long[WORDS];
+        this.NEIGHBOURS = new long[cellCount * WORDS];
+        int[] offsets = adjacency.getOFFSETS();
+        int[] neighbours = adjacency.getNEIGHBOURS();
+        for (int cell = 0; cell < cellCount; cell++) {
+            PLAYABLE[cell >>> 6] |= 1L << cell;
+            for (int i = offsets[cell]; i < offsets[cell + 1]; i++) {
+                NEIGHBOURS[cell * WORDS + (neighbours[i] >>> 6)] |= 1L << neighbours[i];
+            }
+        }
+        this.masks = new long[WORKERS + playerCount * WORDS];
+        this.masks[LEVELS] = PLAYABLE[0];
+        this.masks[LEVELS + 1] = PLAYABLE[1];
+    }
+
+    /**
+     * Copy constructor. The copy shares the layout of the original and owns its own position.
+     *
+     * @param other the bitboard to copy
+     */
+    public BitBoard(BitBoard other) {
+        this.CELL_COUNT = other.CELL_COUNT;
+        this.PLAYABLE = other.PLAYABLE;
+        this.NEIGHBOURS = other.NEIGHBOURS;
+        this.masks = other.masks.clone();
+    }
+
+    /**
+     * Builds the bitboard of a game state from its arrays, with its levels, domes and workers.
+     *
+     * @param state the game state
+     * @return the bitboard of the game state
+     * @throws IllegalArgumentException if the board has more than MAX_CELLS cells
+     */
+    public static BitBoard of(GameState state) {
+        BitBoard bitBoard = new BitBoard(state.getADJACENCY(), state.getPlayerCount());
+        for (int cell = 0; cell < state.getCellCount(); cell++) {
+            bitBoard.setGround(cell, state.getLevel(cell), state.hasDome(cell));
+        }
+        for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+            int cell = state.getWorkerCell(worker);
+            if (cell != GameState.NONE) {
+                bitBoard.addWorker(state.getWorkerOwner(worker), cell);
+            }
+        }
+        return bitBoard;
+    }
+
+    /**
+     * Overwrites this bitboard with the position of another one of the same board, allocating nothing.
+     *
+     * @param other the bitboard to copy from
+     */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.masks, 0, masks, 0, masks.length);
+    }
+
+    /**
+     * Returns one word of the cells a worker holding some capabilities may move to from a cell:
+     * free neighbours without dome whose level the capabilities allow stepping on.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param from the cell of the worker
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the target mask word
+     */
+    public long moveTargets(long capabilities, int from, int word) {
+        return NEIGHBOURS[from * WORDS + word] & reachable(capabilities, word) & ~masks[DOMES + word] & ~masks[OCCUPIED + word];
+    }
+
+    /**
+     * Checks if a worker holding some capabilities can move anywhere from a cell.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param from the cell of the worker
+     * @return true if any neighbour is a legal move target
+     */
+    public boolean canMoveFrom(long capabilities, int from) {
+        return (moveTargets(capabilities, from, 0) | moveTargets(capabilities, from, 1)) != 0;
+    }
+
+    /**
+     * Checks if a worker holding some capabilities may move from a cell to another.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param from the cell of the worker
+     * @param to the target cell
+     * @return true if the move is legal
+     */
+    public boolean canMove(long capabilities, int from, int to) {
+        return (moveTargets(capabilities, from, to >>> 6) & (1L << to)) != 0;
+    }
+
+    /**
+     * Returns one word of the cells a worker holding some capabilities may build on, once it has moved from one
+     * cell to another: free neighbours without dome, the cell it left included, and with
+     * BUILD_BELOW_WORKER_ON_TOWER its own cell below a third level. A worker that has not moved passes its cell
+     * twice. Nothing is buildable without the BUILD capability.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param from the cell the worker left, still occupied on this bitboard
+     * @param at the cell the worker builds from
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the target mask word
+     */
+    public long buildTargets(long capabilities, int from, int at, int word) {
+        if ((capabilities & BUILD) == 0) {
+            return 0L;
+        }
+        long free = ~masks[DOMES + word] & ~(masks[OCCUPIED + word] & ~bitOf(from, word));
+        long targets = NEIGHBOURS[at * WORDS + word] & free;
+        if ((capabilities & BUILD_BELOW) != 0 && (masks[LEVELS + GameState.MAX_LEVEL * WORDS + word] & bitOf(at, word)) == 0) {
+            targets |= bitOf(at, word);
+        }
+        return targets;
+    }
+
+    /**
+     * Checks if a worker holding some capabilities, standing on a cell, may build on another cell.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param at the cell of the worker
+     * @param to the target cell
+     * @return true if the build is legal
+     */
+    public boolean canBuild(long capabilities, int at, int to) {
+        return (buildTargets(capabilities, at, at, to >>> 6) & (1L << to)) != 0;
+    }
+
+    /**
+     * Places a worker of a player on a cell.
+     *
+     * @param player the player index
+     * @param cell the cell
+     */
+    public void addWorker(int player, int cell) {
+        long bit = 1L << cell;
+        masks[WORKERS + player * WORDS + (cell >>> 6)] |= bit;
+        masks[OCCUPIED + (cell >>> 6)] |= bit;
+    }
+
+    /**
+     * Moves a worker of a player.
+     *
+     * @param player the player index
+     * @param from the cell the worker leaves
+     * @param to the cell the worker moves to
+     */
+    public void moveWorker(int player, int from, int to) {
+        removeWorker(player, from);
+        addWorker(player, to);
+    }
+
+    /**
+     * Removes the worker of a player from a cell.
+     *
+     * @param player the player index
+     * @param cell the cell
+     */
+    public void removeWorker(int player, int cell) {
+        long bit = ~(1L << cell);
+        masks[WORKERS + player * WORDS + (cell >>> 6)] &= bit;
+        masks[OCCUPIED + (cell >>> 6)] &= bit;
+    }
+
+    /**
+     * Builds one block on a cell: the cell moves up to the next level mask, or a third level tower gets a dome.
+     *
+     * @param cell the cell
+     * @param level the level of the cell before the build
+     */
+    public void build(int cell, int level) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if (level < GameState.MAX_LEVEL) {
+            masks[LEVELS + level * WORDS + word] &= ~bit;
+            masks[LEVELS + (level + 1) * WORDS + word] |= bit;
+        } else {
+            masks[DOMES + word] |= bit;
+        }
+    }
+
+    /**
+     * Sets the level and dome of a cell.
+     *
+     * @param cell the cell
+     * @param level the level, 0 for a floor up to GameState.MAX_LEVEL
+     * @param dome true if the cell has a dome
+     */
+    public void setGround(int cell, int level, boolean dome) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        for (int l = 0; l <= GameState.MAX_LEVEL; l++) {
+            masks[LEVELS + l * WORDS + word] &= ~bit;
+        }
+        masks[LEVELS + level * WORDS + word] |= bit;
+        if (dome) {
+            masks[DOMES + word] |= bit;
+        } else {
+            masks[DOMES + word] &= ~bit;
+        }
+    }
+
+    /**
+     * Returns the level of a cell.
+     *
+     * @param cell the cell
+     * @return the level, 0 for a floor up to GameState.MAX_LEVEL
+     */
+    public int getLevel(int cell) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        for (int level = 1; level <= GameState.MAX_LEVEL; level++) {
+            if ((masks[LEVELS + level * WORDS + word] & bit) != 0) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Accessor for the number of cells.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return CELL_COUNT;
+    }
+
+    /**
+     * Returns one word of the mask of cells, the complement of the holes and of the bits past the last cell.
+     *
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the playable mask word
+     */
+    public long getPlayableMask(int word) {
+        return PLAYABLE[word];
+    }
+
+    /**
+     * Returns one word of the neighbour mask of a cell.
+     *
+     * @param cell the cell
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the neighbour mask word
+     */
+    public long getNeighbours(int cell, int word) {
+        return NEIGHBOURS[cell * WORDS + word];
+    }
+
+    /**
+     * Returns one word of the mask of cells at a level.
+     *
+     * @param level the level
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the level mask word
+     */
+    public long getLevelMask(int level, int word) {
+        return masks[LEVELS + level * WORDS + word];
+    }
+
+    /**
+     * Returns one word of the dome mask.
+     *
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the dome mask word
+     */
+    public long getDomeMask(int word) {
+        return masks[DOMES + word];
+    }
+
+    /**
+     * Returns one word of the worker mask of a player.
+     *
+     * @param player the player index
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the worker mask word
+     */
+    public long getWorkerMask(int player, int word) {
+        return masks[WORKERS + player * WORDS + word];
+    }
+
+    /**
+     * Returns one word of the mask of cells holding any worker.
+     *
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the occupied mask word
+     */
+    public long getOccupiedMask(int word) {
+        return masks[OCCUPIED + word];
+    }
+
+    /**
+     * Checks if two bitboards hold the same position.
+     *
+     * @param other the bitboard to compare with
+     * @return true if every level, dome and worker mask is equal
+     */
+    public boolean samePosition(BitBoard other) {
+        return Arrays.equals(masks, other.masks);
+    }
+
+    /**
+     * Returns one word of the cells whose level some capabilities allow stepping on.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the reachable mask word
+     */
+    private long reachable(long capabilities, int word) {
+        long mask = 0L;
+        for (int level = 0; level <= GameState.MAX_LEVEL; level++) {
+            // all ones if the capability is held, zero otherwise
+            mask |= masks[LEVELS + level * WORDS + word] & -Long.signum(capabilities & MOVE_TO_LEVEL[level]);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the bit of a cell within one word.
+     *
+     * @param cell the cell
+     * @param word 0 for cells 0 to 63, 1 for cells 64 to 127
+     * @return the bit of the cell, or 0 if the cell lies in the other word
+     */
+    private static long bitOf(int cell, int word) {
+        return cell >>> 6 == word ? 1L << cell : 0L;
+    }
+}
@@ -0,0 +1,825 @@
+package engine;
+
+import board.Adjacency;
+import board.Board;
+import board.Location;
+import capability.Capability;
+import capability.CapabilityController;
+import god.GodCard;
+import god.Timing;
+import ground.Floor;
+import ground.Ground;
+import ground.Tower1;
+import ground.Tower2;
+import ground.Tower3;
+import player.Player;
+import player.Worker;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A headless, compact copy of a Santorini game.
+ * Cells, workers and players are identified by int indices and all state lives in primitive arrays,
+ * so a game can be copied, searched and simulated at CPU speed without any board, Swing or capability object.
+ * The rules follow the ground and capability classes: a worker may travel onto a ground if it holds the
+ * matching MOVE_TO_* capability, and steps onto a ground gain and lose that ground's capabilities.
+ * Every state keeps the Zobrist key of its position up to date as it is played.
+ * On boards of at most BitBoard.MAX_CELLS cells it also keeps the position as a BitBoard, which answers the
+ * trapped-player checks and the move generator's legality with mask operations.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class GameState {
+    /**
+     * Marker for "no cell", "no worker" and "no player".
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Highest tower level; building on it places a dome.
+     */
+    public static final int MAX_LEVEL = 3;
+
+    private static final Capability[] MOVE_TO_LEVEL = {
+            Capability.MOVE_TO_FLOOR,
+            Capability.MOVE_TO_TOWER_1,
+            Capability.MOVE_TO_TOWER_2,
+            Capability.MOVE_TO_TOWER_3
+    };
+    private static final long[] GRANTED_AT_LEVEL = new long[MAX_LEVEL + 1];
+    private static final long[] LOST_AT_LEVEL = new long[MAX_LEVEL + 1];
+
+    static {
+        Ground[] grounds = {Floor.FLOOR, Tower1.TOWER_1, Tower2.TOWER_2, Tower3.TOWER_3};
+        for (Ground ground : grounds) {
+            GRANTED_AT_LEVEL[ground.getLevel()] = ground.getCapabilityMask();
+            LOST_AT_LEVEL[ground.getLevel()] = ground.getLostCapabilityMask();
+        }
+    }
+
+    // layout, shared between copies
+    private final int WIDTH;
+    private final int HEIGHT;
+    private final int[] CELL_X;
+    private final int[] CELL_Y;
+    private final Adjacency ADJACENCY;
+    private final int[] OFFSETS;
+    private final int[] NEIGHBOURS;
+    private final int[] PLAYER_IDS;
+    private final GodCard[] GOD_CARDS;
+    private final int[] WORKER_OWNER;
+    private final Zobrist ZOBRIST;
+
+    // position
+    private final int[] levels;
+    private final boolean[] domes;
+    private final int[] cellWorker;
+    private final int[] workerCell;
+    private final long[] workerCapabilities;
+    private final boolean[] eliminated;
+    // the same position as masks, null on boards with more than BitBoard.MAX_CELLS cells
+    private final BitBoard bitBoard;
+    private int currentPlayer;
+    private int winner = NONE;
+    private long key;
+
+    /**
+     * Constructor for an empty game state: every cell is a floor and no worker is placed.
+     *
+     * @param width the width of the board, including holes
+     * @param height the height of the board, including holes
+     * @param cellX the x coordinate of each cell
+     * @param cellY the y coordinate of each cell
+     * @param adjacency the neighbouring cells of each cell
+     * @param playerIds the id of each player
+     * @param godCards the god card of each player, null entries for players without one
+     * @param workerOwner the player index owning each worker
+     */
+    public GameState(int width, int height, int[] cellX, int[] cellY, Adjacency adjacency,
+                     int[] playerIds, GodCard[] godCards, int[] workerOwner) {
+        if (cellX.length != cellY.length || cellX.length != adjacency.getCellCount()) {
+            throw new IllegalArgumentException("Cell coordinates and neighbours must describe the same cells");
+        }
+        if (playerIds.length != godCards.length) {
+            throw new IllegalArgumentException("Every player needs a god card entry");
+        }
+        this.WIDTH = width;
+        this.HEIGHT = height;
+        this.CELL_X = cellX;
+        this.CELL_Y = cellY;
+        this.ADJACENCY = adjacency;
+        this.OFFSETS = adjacency.getOFFSETS();
+        this.NEIGHBOURS = adjacency.getNEIGHBOURS();
+        this.PLAYER_IDS = playerIds;
+        this.GOD_CARDS = godCards;
+        this.WORKER_OWNER = workerOwner;
+
+        int cellCount = cellX.length;
+        this.levels = new int[cellCount];
+        this.domes = new boolean[cellCount];
+        this.cellWorker = new int[cellCount];
+        Arrays.fill(this.cellWorker, NONE);
+        this.workerCell = new int[workerOwner.length];
+        Arrays.fill(this.workerCell, NONE);
+        this.workerCapabilities = new long[workerOwner.length];
+        for (int worker = 0; worker < workerOwner.length; worker++) {
+            this.workerCapabilities[worker] = maskOf(Capability.MOVE_TO_FLOOR) | maskOf(Capability.MOVE_TO_TOWER_1) | maskOf(Capability.BUILD);
+        }
+        this.eliminated = new boolean[playerIds.length];
+        this.bitBoard = cellCount <= BitBoard.MAX_CELLS ? new BitBoard(adjacency, playerIds.length) : null;
+        this.currentPlayer = 0;
+        this.ZOBRIST = Zobrist.forCells(cellCount);
+        this.key = ZOBRIST.emptyBoard() ^ (playerIds.length > 0 ? ZOBRIST.sideToMove(playerIds[0]) : 0L);
+    }
+
+    /**
+     * Copy constructor. The copy shares the layout of the original and owns its own position.
+     *
+     * @param other the game state to copy
+     */
+    public GameState(GameState other) {
+        this.WIDTH = other.WIDTH;
+        this.HEIGHT = other.HEIGHT;
+        this.CELL_X = other.CELL_X;
+        this.CELL_Y = other.CELL_Y;
+        this.ADJACENCY = other.ADJACENCY;
+        this.OFFSETS = other.OFFSETS;
+        this.NEIGHBOURS = other.NEIGHBOURS;
+        this.PLAYER_IDS = other.PLAYER_IDS;
+        this.GOD_CARDS = other.GOD_CARDS;
+        this.WORKER_OWNER = other.WORKER_OWNER;
+        this.ZOBRIST = other.ZOBRIST;
+        this.levels = other.levels.clone();
+        this.domes = other.domes.clone();
+        this.cellWorker = other.cellWorker.clone();
+        this.workerCell = other.workerCell.clone();
+        this.workerCapabilities = other.workerCapabilities.clone();
+        this.eliminated = other.eliminated.clone();
+        this.bitBoard = other.bitBoard == null ? null : new BitBoard(other.bitBoard);
+        this.currentPlayer = other.currentPlayer;
+        this.winner = other.winner;
+        this.key = other.key;
+    }
+
+    /**
+     * Takes a snapshot of a board and its players.
+     * Workers are numbered in player order, then in the order of each player's worker list.
+     *
+     * @param board the board to copy
+     * @param players the players still in the game
+     * @param currentPlayer the player whose turn it is, or null to start with the first player
+     * @return the game state of the board
+     */
+    public static GameState of(Board board, List<Player> players, Player currentPlayer) {
+        int cellCount = board.getCellCount();
+        int[] cellX = new int[cellCount];
+        int[] cellY = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            Location location = board.locationAt(cell);
+            cellX[cell] = location.getPOSITION().X;
+            cellY[cell] = location.getPOSITION().Y;
+        }
+
+        int[] playerIds = new int[players.size()];
+        GodCard[] godCards = new GodCard[players.size()];
+        int workerCount = 0;
+        for (int p = 0; p < players.size(); p++) {
+            playerIds[p] = players.get(p).getID();
+            godCards[p] = players.get(p).getGodCard();
+            workerCount += players.get(p).getWorkers().size();
+        }
+        int[] workerOwner = new int[workerCount];
+        int worker = 0;
+        for (int p = 0; p < players.size(); p++) {
+            for (int i = 0; i < players.get(p).getWorkers().size(); i++) {
+                workerOwner[worker++] = p;
+            }
+        }
+
+        GameState state = new GameState(board.getWIDTH(), board.getHEIGHT(), cellX, cellY, board.getADJACENCY(), playerIds, godCards, workerOwner);
+        for (int cell = 0; cell < cellCount; cell++) {
+            Ground ground = board.locationAt(cell).getGround();
+            state.levels[cell] = ground.getLevel();
+            state.domes[cell] = ground.hasDome();
+            if (state.bitBoard != null) {
+                state.bitBoard.setGround(cell, ground.getLevel(), ground.hasDome());
+            }
+        }
+        worker = 0;
+        for (Player player : players) {
+            for (Worker w : player.getWorkers()) {
+                Location location = board.locationOfWorker(w);
+                if (location != null) {
+                    state.workerCell[worker] = location.getCELL_INDEX();
+                    state.cellWorker[location.getCELL_INDEX()] = worker;
+                    if (state.bitBoard != null) {
+                        state.bitBoard.addWorker(state.WORKER_OWNER[worker], location.getCELL_INDEX());
+                    }
+                }
+                long capabilities = w.getCAPABILITIES_CONTROLLER().getMask();
+                state.workerCapabilities[worker] = capabilities;
+                if ((capabilities & maskOf(Capability.WIN)) != 0 && state.winner == NONE) {
+                    state.winner = state.WORKER_OWNER[worker];
+                }
+                worker++;
+            }
+        }
+        if (currentPlayer != null) {
+            state.currentPlayer = players.indexOf(currentPlayer);
+        }
+        state.key = state.ZOBRIST.keyOf(state);
+        return state;
+    }
+
+    /**
+     * Overwrites this state with the position of another state sharing the same layout.
+     * Unlike the copy constructor this allocates nothing, so search code can keep one state per ply.
+     *
+     * @param other the game state to copy from
+     */
+    public void copyFrom(GameState other) {
+        if (other.ADJACENCY != this.ADJACENCY || other.WORKER_OWNER != this.WORKER_OWNER) {
+            throw new IllegalArgumentException("Game states do not share the same layout");
+        }
+        System.arraycopy(other.levels, 0, this.levels, 0, levels.length);
+        System.arraycopy(other.domes, 0, this.domes, 0, domes.length);
+        System.arraycopy(other.cellWorker, 0, this.cellWorker, 0, cellWorker.length);
+        System.arraycopy(other.workerCell, 0, this.workerCell, 0, workerCell.length);
+        System.arraycopy(other.workerCapabilities, 0, this.workerCapabilities, 0, workerCapabilities.length);
+        System.arraycopy(other.eliminated, 0, this.eliminated, 0, eliminated.length);
+        if (bitBoard != null) {
+            bitBoard.copyFrom(other.bitBoard);
+        }
+        this.currentPlayer = other.currentPlayer;
+        this.winner = other.winner;
+        this.key = other.key;
+    }
+
+    /**
+     * Returns the bit of a capability in a capability mask.
+     *
+     * @param capability the capability
+     * @return the mask holding only that capability
+     */
+    public static long maskOf(Enum<?> capability) {
+        return CapabilityController.maskOf(capability);
+    }
+
+    /**
+     * Returns the capability mask of a list of capabilities.
+     *
+     * @param capabilities the capabilities
+     * @return the mask holding all the capabilities
+     */
+    public static long maskOf(List<Enum<?>> capabilities) {
+        return CapabilityController.maskOf(capabilities);
+    }
+
+    /**
+     * Checks if a worker can travel to a cell.
+     *
+     * @param worker the worker
+     * @param cell the target cell
+     * @return true if the cell is free, has no dome and the worker can climb to its level
+     */
+    public boolean canWorkerTravel(int worker, int cell) {
+        return canTravelWith(workerCapabilities[worker], cell);
+    }
+
+    /**
+     * Checks if a worker holding the given capabilities could travel to a cell.
+     * Used to look ahead at a worker that has not made its move on this state yet.
+     *
+     * @param capabilities the capability mask of the worker
+     * @param cell the target cell
+     * @return true if the cell is free, has no dome and the capabilities allow climbing to its level
+     */
+    public boolean canTravelWith(long capabilities, int cell) {
+        return cellWorker[cell] == NONE && !domes[cell]
+                && (capabilities & maskOf(MOVE_TO_LEVEL[levels[cell]])) != 0;
+    }
+
+    /**
+     * Returns the capabilities of a worker after stepping from one ground level to another,
+     * the same way MoveAction updates the worker's capability controller.
+     *
+     * @param capabilities the capability mask before the step
+     * @param fromLevel the level the worker leaves
+     * @param toLevel the level the worker steps onto
+     * @return the capability mask after the step
+     */
+    public static long capabilitiesAfterMove(long capabilities, int fromLevel, int toLevel) {
+        long after = (capabilities | GRANTED_AT_LEVEL[toLevel]) & ~LOST_AT_LEVEL[toLevel];
+        if (fromLevel == MAX_LEVEL && toLevel == MAX_LEVEL) {
+            after &= ~maskOf(Capability.WIN);
+        }
+        return after;
+    }
+
+    /**
+     * Checks if a worker can build at a cell.
+     * Building below the worker itself requires the BUILD_BELOW_WORKER_ON_TOWER capability (Zeus).
+     *
+     * @param worker the worker
+     * @param cell the target cell
+     * @return true if the worker can build at the cell
+     */
+    public boolean canWorkerBuild(int worker, int cell) {
+        long capabilities = workerCapabilities[worker];
+        if ((capabilities & maskOf(Capability.BUILD)) == 0 || domes[cell]) {
+            return false;
+        }
+        if (cellWorker[cell] == NONE) {
+            return true;
+        }
+        return cellWorker[cell] == worker && levels[cell] != MAX_LEVEL
+                && (capabilities & maskOf(Capability.BUILD_BELOW_WORKER_ON_TOWER)) != 0;
+    }
+
+    /**
+     * Moves a worker to a cell, gaining and losing the capabilities of the ground it steps on.
+     * Stepping onto a third level tower from below wins the game for the worker's owner.
+     *
+     * @param worker the worker to move
+     * @param cell the target cell
+     * @throws IllegalStateException if the target cell already has a worker
+     */
+    public void moveWorker(int worker, int cell) {
+        if (cellWorker[cell] != NONE) {
+            throw new IllegalStateException("Invalid move");
+        }
+        int from = workerCell[worker];
+        cellWorker[from] = NONE;
+        cellWorker[cell] = worker;
+        workerCell[worker] = cell;
+        if (bitBoard != null) {
+            bitBoard.moveWorker(WORKER_OWNER[worker], from, cell);
+        }
+        int playerId = PLAYER_IDS[WORKER_OWNER[worker]];
+        key ^= ZOBRIST.worker(from, playerId) ^ ZOBRIST.worker(cell, playerId);
+
+        long capabilities = capabilitiesAfterMove(workerCapabilities[worker], levels[from], levels[cell]);
+        workerCapabilities[worker] = capabilities;
+        if ((capabilities & maskOf(Capability.WIN)) != 0 && winner == NONE) {
+            winner = WORKER_OWNER[worker];
+        }
+    }
+
+    /**
+     * Builds one block on a cell: a floor becomes a tower level and a third level tower gets a dome.
+     *
+     * @param cell the cell to build on
+     */
+    public void build(int cell) {
+        key ^= ZOBRIST.ground(cell, levels[cell], domes[cell]);
+        if (bitBoard != null) {
+            bitBoard.build(cell, levels[cell]);
+        }
+        if (levels[cell] < MAX_LEVEL) {
+            levels[cell]++;
+        } else {
+            domes[cell] = true;
+        }
+        key ^= ZOBRIST.ground(cell, levels[cell], domes[cell]);
+    }
+
+    /**
+     * Gives a worker the capabilities of the ground it currently stands on, without letting it win.
+     * Used after a worker has been raised by a block built below itself.
+     *
+     * @param worker the worker
+     */
+    public void refreshCapabilities(int worker) {
+        int level = levels[workerCell[worker]];
+        workerCapabilities[worker] = ((workerCapabilities[worker] | GRANTED_AT_LEVEL[level]) & ~LOST_AT_LEVEL[level])
+                & ~maskOf(Capability.WIN);
+    }
+
+    /**
+     * Grants a capability to a worker.
+     *
+     * @param worker the worker
+     * @param capability the capability to grant
+     */
+    public void addCapability(int worker, Capability capability) {
+        workerCapabilities[worker] |= maskOf(capability);
+    }
+
+    /**
+     * Checks if a worker holds a capability.
+     *
+     * @param worker the worker
+     * @param capability the capability to check
+     * @return true if the worker holds the capability
+     */
+    public boolean hasCapability(int worker, Capability capability) {
+        return (workerCapabilities[worker] & maskOf(capability)) != 0;
+    }
+
+    /**
+     * Checks if a player still has a worker able to move.
+     *
+     * @param player the player index
+     * @return true if any of the player's workers can travel to a neighbouring cell
+     */
+    public boolean hasLegalMove(int player) {
+        for (int worker = 0; worker < WORKER_OWNER.length; worker++) {
+            if (WORKER_OWNER[worker] != player || workerCell[worker] == NONE) {
+                continue;
+            }
+            int from = workerCell[worker];
+            if (bitBoard != null) {
+                if (bitBoard.canMoveFrom(workerCapabilities[worker], from)) {
+                    return true;
+                }
+                continue;
+            }
+            for (int i = OFFSETS[from]; i < OFFSETS[from + 1]; i++) {
+                if (canWorkerTravel(worker, NEIGHBOURS[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a player and its workers from the game.
+     *
+     * @param player the player index
+     */
+    public void removePlayer(int player) {
+        eliminated[player] = true;
+        for (int worker = 0; worker < WORKER_OWNER.length; worker++) {
+            if (WORKER_OWNER[worker] == player && workerCell[worker] != NONE) {
+                key ^= ZOBRIST.worker(workerCell[worker], PLAYER_IDS[player]);
+                cellWorker[workerCell[worker]] = NONE;
+                if (bitBoard != null) {
+                    bitBoard.removeWorker(player, workerCell[worker]);
+                }
+                workerCell[worker] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Removes every player whose workers are all trapped, like GameController.checkLosingPlayer.
+     * When a single player remains it wins the game.
+     */
+    public void eliminateTrappedPlayers() {
+        // decide on the position before removing anyone, as removed workers free their cells
+        long trapped = 0L;
+        for (int player = 0; player < PLAYER_IDS.length; player++) {
+            if (!eliminated[player] && !hasLegalMove(player)) {
+                trapped |= 1L << player;
+            }
+        }
+        for (int player = 0; player < PLAYER_IDS.length; player++) {
+            if ((trapped & (1L << player)) != 0) {
+                removePlayer(player);
+            }
+        }
+        declareLastPlayerWinner();
+    }
+
+    /**
+     * Eliminates the current player, left without a complete turn, and passes the turn on unless the game is over.
+     * Like GameController, the other players are only checked for being trapped during the next turn.
+     */
+    public void eliminateCurrentPlayer() {
+        removePlayer(currentPlayer);
+        declareLastPlayerWinner();
+        if (!isGameOver()) {
+            nextPlayer();
+        }
+    }
+
+    /**
+     * Makes the last player in the game its winner, unless someone has already won.
+     */
+    private void declareLastPlayerWinner() {
+        if (winner == NONE && getRemainingPlayerCount() == 1) {
+            for (int player = 0; player < PLAYER_IDS.length; player++) {
+                if (!eliminated[player]) {
+                    winner = player;
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the turn to the next player still in the game.
+     *
+     * @return the index of the new current player
+     */
+    public int nextPlayer() {
+        for (int i = 1; i <= PLAYER_IDS.length; i++) {
+            int player = (currentPlayer + i) % PLAYER_IDS.length;
+            if (!eliminated[player]) {
+                key ^= ZOBRIST.sideToMove(PLAYER_IDS[currentPlayer]) ^ ZOBRIST.sideToMove(PLAYER_IDS[player]);
+                currentPlayer = player;
+                break;
+            }
+        }
+        return currentPlayer;
+    }
+
+    /**
+     * Plays a complete turn of the current player without god power: a move, then a build.
+     *
+     * @param worker the worker of the current player
+     * @param move the cell to move to
+     * @param build the cell to build on, ignored if the move wins
+     */
+    public void playTurn(int worker, int move, int build) {
+        playTurn(worker, move, NONE, build, NONE);
+    }
+
+    /**
+     * Plays a complete turn of the current player, including the optional steps of its god card:
+     * a move, an optional second move (AFTER_MOVE), a build done through the god card when it acts
+     * BEFORE_BUILD, and an optional second build (AFTER_BUILD).
+     * A winning move ends the turn. Trapped players are removed after every move and every build, second ones
+     * included, at the same points as GameController.checkLosingPlayer; the turn ends there if that removes the
+     * current player or ends the game.
+     *
+     * @param worker the worker of the current player
+     * @param move the cell to move to
+     * @param secondMove the cell of the god card's second move, or NONE
+     * @param build the cell to build on, ignored if a move wins
+     * @param secondBuild the cell of the god card's second build, or NONE
+     */
+    public void playTurn(int worker, int move, int secondMove, int build, int secondBuild) {
+        GodCard godCard = GOD_CARDS[currentPlayer];
+        moveWorker(worker, move);
+        if (winner != NONE || endsTurn()) {
+            return;
+        }
+        if (secondMove != NONE) {
+            godCard.applyAbility(this, worker, secondMove);
+            if (winner != NONE || endsTurn()) {
+                return;
+            }
+        }
+        if (godCard != null && godCard.getActivateTiming() == Timing.BEFORE_BUILD) {
+            godCard.applyAbility(this, worker, build);
+        } else {
+            build(build);
+        }
+        if (endsTurn()) {
+            return;
+        }
+        if (secondBuild != NONE) {
+            godCard.applyAbility(this, worker, secondBuild);
+            if (endsTurn()) {
+                return;
+            }
+        }
+        nextPlayer();
+    }
+
+    /**
+     * Removes the trapped players at one of the points of a turn where the game looks for them.
+     *
+     * @return true if the turn is over: the game is over, or the current player was removed and the turn has
+     *         passed on
+     */
+    private boolean endsTurn() {
+        eliminateTrappedPlayers();
+        if (isGameOver()) {
+            return true;
+        }
+        if (eliminated[currentPlayer]) {
+            nextPlayer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the game is over, either won or with no player left.
+     *
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return winner != NONE || getRemainingPlayerCount() == 0;
+    }
+
+    /**
+     * Accessor for the width of the board, including holes.
+     *
+     * @return the number of columns
+     */
+    public int getWIDTH() {
+        return WIDTH;
+    }
+
+    /**
+     * Accessor for the height of the board, including holes.
+     *
+     * @return the number of rows
+     */
+    public int getHEIGHT() {
+        return HEIGHT;
+    }
+
+    /**
+     * Accessor for the number of cells.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return levels.length;
+    }
+
+    /**
+     * Accessor for the x coordinate of a cell.
+     *
+     * @param cell the cell
+     * @return the x coordinate
+     */
+    public int getCellX(int cell) {
+        return CELL_X[cell];
+    }
+
+    /**
+     * Accessor for the y coordinate of a cell.
+     *
+     * @param cell the cell
+     * @return the y coordinate
+     */
+    public int getCellY(int cell) {
+        return CELL_Y[cell];
+    }
+
+    /**
+     * Accessor for the neighbourhood of the cells, shared with the board the state was taken from.
+     * The neighbours of a cell are read from its arrays, see Adjacency.
+     *
+     * @return the adjacency
+     */
+    public Adjacency getADJACENCY() {
+        return ADJACENCY;
+    }
+
+    /**
+     * Accessor for the bitboard kept up to date next to the arrays of the position.
+     *
+     * @return the bitboard, or null if the board has more than BitBoard.MAX_CELLS cells
+     */
+    public BitBoard getBitBoard() {
+        return bitBoard;
+    }
+
+    /**
+     * Accessor for the tower level of a cell.
+     *
+     * @param cell the cell
+     * @return the level, 0 for a floor up to MAX_LEVEL
+     */
+    public int getLevel(int cell) {
+        return levels[cell];
+    }
+
+    /**
+     * Checks if a cell has a dome.
+     *
+     * @param cell the cell
+     * @return true if the cell has a dome
+     */
+    public boolean hasDome(int cell) {
+        return domes[cell];
+    }
+
+    /**
+     * Returns the worker standing on a cell.
+     *
+     * @param cell the cell
+     * @return the worker index, or NONE
+     */
+    public int getWorkerAt(int cell) {
+        return cellWorker[cell];
+    }
+
+    /**
+     * Returns the cell a worker stands on.
+     *
+     * @param worker the worker
+     * @return the cell index, or NONE if the worker was removed
+     */
+    public int getWorkerCell(int worker) {
+        return workerCell[worker];
+    }
+
+    /**
+     * Accessor for the owner of a worker.
+     *
+     * @param worker the worker
+     * @return the player index owning the worker
+     */
+    public int getWorkerOwner(int worker) {
+        return WORKER_OWNER[worker];
+    }
+
+    /**
+     * Accessor for the number of workers, including removed ones.
+     *
+     * @return the number of workers
+     */
+    public int getWorkerCount() {
+        return WORKER_OWNER.length;
+    }
+
+    /**
+     * Accessor for the capabilities of a worker.
+     *
+     * @param worker the worker
+     * @return the capability mask of the worker, one bit per Capability ordinal
+     */
+    public long getWorkerCapabilities(int worker) {
+        return workerCapabilities[worker];
+    }
+
+    /**
+     * Accessor for the number of players, including eliminated ones.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return PLAYER_IDS.length;
+    }
+
+    /**
+     * Accessor for the id of a player.
+     *
+     * @param player the player index
+     * @return the player id
+     */
+    public int getPlayerId(int player) {
+        return PLAYER_IDS[player];
+    }
+
+    /**
+     * Accessor for the god card of a player.
+     *
+     * @param player the player index
+     * @return the god card, or null if the player has none
+     */
+    public GodCard getGodCard(int player) {
+        return GOD_CARDS[player];
+    }
+
+    /**
+     * Checks if a player has been removed from the game.
+     *
+     * @param player the player index
+     * @return true if the player is out of the game
+     */
+    public boolean isEliminated(int player) {
+        return eliminated[player];
+    }
+
+    /**
+     * Accessor for the number of players still in the game.
+     *
+     * @return the number of remaining players
+     */
+    public int getRemainingPlayerCount() {
+        int count = 0;
+        for (boolean out : eliminated) {
+            if (!out) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Accessor for the player whose turn it is.
+     *
+     * @return the current player index
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Accessor for the Zobrist key of the position: cell grounds, worker placement and player to move.
+     *
+     * @return the 64-bit position key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the winner of the game.
+     *
+     * @return the winning player index, or NONE while nobody has won
+     */
+    public int getWinner() {
+        return winner;
+    }
+}
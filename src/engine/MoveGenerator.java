@@ -0,0 +1,378 @@
+package engine;
+
+import capability.Capability;
+import god.GodCard;
+import god.Timing;
+
+/**
+ * Enumerates every complete turn the current player of a game state can play, god card steps included.
+ * Turns are written into a caller-supplied int buffer, TURN_SIZE ints per turn, so generating turns allocates nothing
+ * once the generator has seen a board of the size.
+ * Legality follows the capability rules of the game state: a worker moves where its MOVE_TO_* capabilities allow,
+ * and builds around its new cell, the cell it just left included. On boards with a BitBoard the move and build
+ * targets of each step are read off its masks; larger boards test the neighbours one by one.
+ * The phases of the god cards are expanded by their activation timing:
+ * <ul>
+ *     <li>AFTER_MOVE (Artemis): an optional second move, never back to the starting cell;</li>
+ *     <li>AFTER_BUILD (Demeter): an optional second build, never on the first build site;</li>
+ *     <li>BEFORE_BUILD (Zeus): the build may also go below the worker itself, which does not win.</li>
+ * </ul>
+ * Turns leading to the same position are generated once: a second move ending where a single move could go,
+ * or two builds in the opposite order. A winning move ends the turn, so it has no build.
+ * Unused steps of a turn are NONE.
+ *
+ * @author King Jian Rong
+ * @version 1.1
+ */
+public class MoveGenerator {
+    /**
+     * Offset of the worker in a turn.
+     */
+    public static final int WORKER = 0;
+
+    /**
+     * Offset of the move target in a turn.
+     */
+    public static final int MOVE = 1;
+
+    /**
+     * Offset of the god card's second move target in a turn.
+     */
+    public static final int SECOND_MOVE = 2;
+
+    /**
+     * Offset of the build target in a turn.
+     */
+    public static final int BUILD = 3;
+
+    /**
+     * Offset of the god card's second build target in a turn.
+     */
+    public static final int SECOND_BUILD = 4;
+
+    /**
+     * Number of ints used by one turn in a turn buffer.
+     */
+    public static final int TURN_SIZE = 5;
+
+    private static final long BUILD_BELOW = GameState.maskOf(Capability.BUILD_BELOW_WORKER_ON_TOWER);
+
+    private final boolean USE_BIT_BOARD;
+    // cells a worker has already been sent to this turn, stamped per worker; two slots per cell (no win / win)
+    private int[] reached = new int[0];
+    private int stamp;
+    // the targets of each step, one list per nesting level
+    private int[] moves = new int[0];
+    private int[] secondMoves = new int[0];
+    private int[] builds = new int[0];
+
+    /**
+     * Constructor for the MoveGenerator class, using the bitboard of the game states that have one.
+     */
+    public MoveGenerator() {
+        this(true);
+    }
+
+    /**
+     * Constructor for the MoveGenerator class.
+     *
+     * @param useBitBoard false to test every neighbour of every step on its own, as on boards too large for a
+     *                    bitboard, e.g. to check that both ways generate the same turns
+     */
+    public MoveGenerator(boolean useBitBoard) {
+        this.USE_BIT_BOARD = useBitBoard;
+    }
+
+    /**
+     * Writes every turn of the current player into a buffer.
+     *
+     * @param state the game state
+     * @param buffer the buffer receiving the turns, TURN_SIZE ints per turn
+     * @return the number of turns written; 0 means the current player is trapped
+     * @throws IllegalArgumentException if the buffer is too small, see capacityFor
+     */
+    public int generate(GameState state, int[] buffer) {
+        int player = state.getCurrentPlayer();
+        GodCard godCard = state.getGodCard(player);
+        Timing timing = godCard == null ? null : godCard.getActivateTiming();
+        if (reached.length < state.getCellCount() * 2) {
+            reached = new int[state.getCellCount() * 2];
+            stamp = 0;
+        }
+        // the neighbours of a cell, plus the cell itself for a build below the worker
+        if (builds.length < state.getADJACENCY().getMAX_DEGREE() + 1) {
+            moves = new int[state.getADJACENCY().getMAX_DEGREE() + 1];
+            secondMoves = new int[moves.length];
+            builds = new int[moves.length];
+        }
+
+        int count = 0;
+        for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+            int from = state.getWorkerCell(worker);
+            if (state.getWorkerOwner(worker) != player || from == GameState.NONE) {
+                continue;
+            }
+            stamp++;
+            long capabilities = state.getWorkerCapabilities(worker);
+
+            int moveCount = moveTargets(state, capabilities, from, moves);
+
+            // single moves first, so that second moves ending on the same cell are recognised as duplicates
+            for (int i = 0; i < moveCount; i++) {
+                int move = moves[i];
+                boolean win = isWinningMove(state, from, move);
+                markReached(move, win);
+                count = addBuilds(state, buffer, count, timing, worker, from, move, GameState.NONE, win);
+            }
+            if (timing != Timing.AFTER_MOVE) {
+                continue;
+            }
+            for (int i = 0; i < moveCount; i++) {
+                int move = moves[i];
+                if (isWinningMove(state, from, move)) {
+                    continue;
+                }
+                long movedCapabilities = GameState.capabilitiesAfterMove(capabilities, state.getLevel(from), state.getLevel(move));
+                int secondMoveCount = moveTargets(state, movedCapabilities, move, secondMoves);
+                for (int j = 0; j < secondMoveCount; j++) {
+                    int secondMove = secondMoves[j];
+                    // prevent going back to original location
+                    if (secondMove == from) {
+                        continue;
+                    }
+                    boolean win = isWinningMove(state, move, secondMove);
+                    if (isReached(secondMove, win)) {
+                        continue;
+                    }
+                    markReached(secondMove, win);
+                    count = addBuilds(state, buffer, count, timing, worker, from, move, secondMove, win);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Plays one of the generated turns on the game state.
+     *
+     * @param state the game state the turns were generated for
+     * @param buffer the turn buffer
+     * @param turn the index of the turn in the buffer
+     */
+    public void play(GameState state, int[] buffer, int turn) {
+        int offset = turn * TURN_SIZE;
+        state.playTurn(buffer[offset + WORKER], buffer[offset + MOVE], buffer[offset + SECOND_MOVE],
+                buffer[offset + BUILD], buffer[offset + SECOND_BUILD]);
+    }
+
+    /**
+     * Returns a buffer size large enough for any turn list of a game state.
+     *
+     * @param state the game state
+     * @return the number of ints a turn buffer needs
+     */
+    public static int capacityFor(GameState state) {
+        int maxDegree = state.getADJACENCY().getMAX_DEGREE();
+        int maxWorkers = 0;
+        for (int player = 0; player < state.getPlayerCount(); player++) {
+            int workers = 0;
+            for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+                if (state.getWorkerOwner(worker) == player) {
+                    workers++;
+                }
+            }
+            maxWorkers = Math.max(maxWorkers, workers);
+        }
+        // destinations within two moves, times one or two builds (plus one below the worker) around each of them
+        int destinations = maxDegree * (maxDegree + 1);
+        int builds = (maxDegree + 1) * (maxDegree + 1);
+        return Math.max(maxWorkers * destinations * builds, 1) * TURN_SIZE;
+    }
+
+    /**
+     * Checks if moving from one cell to another wins, i.e. the worker steps up onto a third level tower.
+     *
+     * @param state the game state
+     * @param from the cell the worker leaves
+     * @param to the cell the worker moves to
+     * @return true if the move wins the game
+     */
+    static boolean isWinningMove(GameState state, int from, int to) {
+        return state.getLevel(to) == GameState.MAX_LEVEL && state.getLevel(from) != GameState.MAX_LEVEL;
+    }
+
+    /**
+     * Writes the turns finishing with the worker on a cell: the winning turn, or one turn per build choice.
+     *
+     * @param state the game state
+     * @param buffer the turn buffer
+     * @param count the number of turns already written
+     * @param timing the activation timing of the player's god card, or null
+     * @param worker the worker
+     * @param from the cell the worker started from
+     * @param move the first move target
+     * @param secondMove the second move target, or NONE
+     * @param win true if the moves win the game
+     * @return the new number of turns
+     */
+    private int addBuilds(GameState state, int[] buffer, int count, Timing timing,
+                          int worker, int from, int move, int secondMove, boolean win) {
+        if (win) {
+            return put(buffer, count, worker, move, secondMove, GameState.NONE, GameState.NONE);
+        }
+        int at = secondMove == GameState.NONE ? move : secondMove;
+        long capabilities = state.getWorkerCapabilities(worker);
+        if (timing == Timing.BEFORE_BUILD) {
+            // Zeus's god card grants the build below the worker as it builds
+            capabilities |= BUILD_BELOW;
+        }
+        int buildCount = buildTargets(state, capabilities, from, move, at, builds);
+        for (int i = 0; i < buildCount; i++) {
+            int build = builds[i];
+            count = put(buffer, count, worker, move, secondMove, build, GameState.NONE);
+            if (timing == Timing.AFTER_BUILD) {
+                // the second build never goes on the first build site; keep one order of each pair
+                for (int j = 0; j < buildCount; j++) {
+                    if (builds[j] > build) {
+                        count = put(buffer, count, worker, move, secondMove, build, builds[j]);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lists the cells a worker holding some capabilities can move to from a cell, before any move of the turn.
+     *
+     * @param state the game state
+     * @param capabilities the capability mask of the worker
+     * @param from the cell to move from
+     * @param out the list receiving the target cells
+     * @return the number of targets
+     */
+    private int moveTargets(GameState state, long capabilities, int from, int[] out) {
+        BitBoard bitBoard = USE_BIT_BOARD ? state.getBitBoard() : null;
+        int count = 0;
+        if (bitBoard != null) {
+            for (int word = 0; word < 2; word++) {
+                long targets = bitBoard.moveTargets(capabilities, from, word);
+                while (targets != 0) {
+                    out[count++] = word * 64 + Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                }
+            }
+            return count;
+        }
+        int[] offsets = state.getADJACENCY().getOFFSETS();
+        int[] neighbours = state.getADJACENCY().getNEIGHBOURS();
+        for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+            if (state.canTravelWith(capabilities, neighbours[i])) {
+                out[count++] = neighbours[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lists the cells a worker holding some capabilities can build on once it has left its starting cell for
+     * the cell it builds from.
+     *
+     * @param state the game state, before the worker moved
+     * @param capabilities the capability mask of the worker, BUILD_BELOW_WORKER_ON_TOWER included for Zeus
+     * @param from the cell the worker started from
+     * @param move the first move target
+     * @param at the cell the worker builds from
+     * @param out the list receiving the target cells
+     * @return the number of targets
+     */
+    private int buildTargets(GameState state, long capabilities, int from, int move, int at, int[] out) {
+        BitBoard bitBoard = USE_BIT_BOARD ? state.getBitBoard() : null;
+        int count = 0;
+        if (bitBoard != null) {
+            // the first move target is free, as the worker could move there
+            for (int word = 0; word < 2; word++) {
+                long targets = bitBoard.buildTargets(capabilities, from, at, word);
+                while (targets != 0) {
+                    out[count++] = word * 64 + Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                }
+            }
+            return count;
+        }
+        if ((capabilities & GameState.maskOf(Capability.BUILD)) == 0) {
+            return 0;
+        }
+        int[] offsets = state.getADJACENCY().getOFFSETS();
+        int[] neighbours = state.getADJACENCY().getNEIGHBOURS();
+        for (int i = offsets[at]; i < offsets[at + 1]; i++) {
+            if (canBuildAfterMoving(state, neighbours[i], from, move)) {
+                out[count++] = neighbours[i];
+            }
+        }
+        if ((capabilities & BUILD_BELOW) != 0 && state.getLevel(at) != GameState.MAX_LEVEL) {
+            out[count++] = at;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a cell can be built on once the worker has left its starting cell and its first move target.
+     *
+     * @param state the game state, before the worker moved
+     * @param build the cell to build on
+     * @param from the cell the worker started from
+     * @param move the first move target
+     * @return true if the cell has no dome and no worker after the moves
+     */
+    private static boolean canBuildAfterMoving(GameState state, int build, int from, int move) {
+        return !state.hasDome(build)
+                && (build == from || build == move || state.getWorkerAt(build) == GameState.NONE);
+    }
+
+    /**
+     * Checks if the current worker has already been sent to a cell this turn.
+     *
+     * @param cell the cell
+     * @param win true for a winning arrival
+     * @return true if an equivalent turn was already generated
+     */
+    private boolean isReached(int cell, boolean win) {
+        return reached[cell * 2 + (win ? 1 : 0)] == stamp;
+    }
+
+    /**
+     * Records that the current worker has been sent to a cell this turn.
+     *
+     * @param cell the cell
+     * @param win true for a winning arrival
+     */
+    private void markReached(int cell, boolean win) {
+        reached[cell * 2 + (win ? 1 : 0)] = stamp;
+    }
+
+    /**
+     * Writes one turn into the buffer.
+     *
+     * @param buffer the turn buffer
+     * @param count the number of turns already written
+     * @param worker the worker
+     * @param move the move target
+     * @param secondMove the second move target
+     * @param build the build target
+     * @param secondBuild the second build target
+     * @return the new number of turns
+     */
+    private static int put(int[] buffer, int count, int worker, int move, int secondMove, int build, int secondBuild) {
+        int offset = count * TURN_SIZE;
+        if (offset + TURN_SIZE > buffer.length) {
+            throw new IllegalArgumentException("Turn buffer too small, see MoveGenerator.capacityFor");
+        }
+        buffer[offset + WORKER] = worker;
+        buffer[offset + MOVE] = move;
+        buffer[offset + SECOND_MOVE] = secondMove;
+        buffer[offset + BUILD] = build;
+        buffer[offset + SECOND_BUILD] = secondBuild;
+        return count + 1;
+    }
+}
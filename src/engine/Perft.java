@@ -0,0 +1,264 @@
+package engine;
+
+import board.Board;
+import god.Artemis;
+import god.Demeter;
+import god.GodCard;
+import god.Zeus;
+import player.Player;
+import player.Worker;
+
+import java.io.File;
+import java.io.Serial;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts every legal sequence of turns of a given length from a position, god card compound turns included,
+ * as a regression oracle for the rules engine and a throughput benchmark of MoveGenerator and the
+ * canWorkerTravel / canWorkerBuild checks behind it.
+ * Sequences ending the game before their last turn are not counted, and a player left without a complete turn
+ * is eliminated as a single forced turn. The subtrees near the root are split over a ForkJoinPool; the last
+ * SEQUENTIAL_DEPTH turns of each are counted on one thread.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class Perft {
+    /**
+     * Remaining depth from which a subtree is counted without further splitting.
+     */
+    public static final int SEQUENTIAL_DEPTH = 2;
+
+    private static final int WORKERS_PER_PLAYER = 2;
+
+    /**
+     * Constructor for the Perft class.
+     * This constructor is private to prevent instantiation,
+     */
+    private Perft() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Counts the turn sequences on the calling thread.
+     *
+     * @param state the position, left unchanged
+     * @param depth the number of turns
+     * @return the number of sequences of exactly depth turns
+     */
+    public static long perft(GameState state, int depth) {
+        return new Counter(state, depth).count(0, depth);
+    }
+
+    /**
+     * Counts the turn sequences, splitting the subtrees over a pool.
+     *
+     * @param state the position, left unchanged
+     * @param depth the number of turns
+     * @param pool the pool counting the subtrees
+     * @return the number of sequences of exactly depth turns
+     */
+    public static long perft(GameState state, int depth, ForkJoinPool pool) {
+        return pool.invoke(new PerftTask(new GameState(state), depth));
+    }
+
+    /**
+     * Sets up a position with two workers per player spread over the board, the first player to move.
+     *
+     * @param mapPath the map file
+     * @param godCards the god card of each player, null for none
+     * @return the position
+     * @throws Exception if the map cannot be read
+     */
+    public static GameState startingPosition(URL mapPath, List<GodCard> godCards) throws Exception {
+        Board board = new Board(mapPath, godCards.size());
+        List<Player> players = new ArrayList<>();
+        List<Worker> workers = new ArrayList<>();
+        for (int id = 1; id <= godCards.size(); id++) {
+            Player player = new Player(id, null);
+            player.setGodCard(godCards.get(id - 1));
+            for (int i = 0; i < WORKERS_PER_PLAYER; i++) {
+                Worker worker = new Worker(player);
+                player.addWorker(worker);
+                workers.add(worker);
+            }
+            players.add(player);
+        }
+        for (int i = 0; i < workers.size(); i++) {
+            board.locationAt(i * board.getCellCount() / workers.size()).addWorker(workers.get(i));
+        }
+        return GameState.of(board, players, null);
+    }
+
+    /**
+     * Prints the count, time and speed of every depth up to the given one.
+     * Usage: Perft &lt;depth&gt; [threads] [map file] [god card per player...]
+     *
+     * @param args the depth, the pool size (every core by default), the map file (map.txt by default) and
+     *             one of artemis, demeter, zeus or none per player (artemis demeter zeus by default)
+     * @throws Exception if the map cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: Perft <depth> [threads] [map file] [god card per player...]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        URL mapPath = args.length > 2 ? new File(args[2]).toURI().toURL() : Perft.class.getResource("/resources/map.txt");
+        List<GodCard> godCards = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            godCards.add(godCard(args[i]));
+        }
+        if (godCards.isEmpty()) {
+            godCards.addAll(List.of(new Artemis(null), new Demeter(null), new Zeus(null)));
+        }
+
+        GameState root = startingPosition(mapPath, godCards);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.println(godCards.size() + " players, " + threads + " threads");
+        System.out.println("depth           nodes        ms     nodes/sec");
+        for (int d = 1; d <= depth; d++) {
+            long start = System.nanoTime();
+            long nodes = perft(root, d, pool);
+            long nanos = Math.max(System.nanoTime() - start, 1);
+            System.out.printf("%5d %15d %9d %13.0f%n", d, nodes, nanos / 1_000_000, nodes * 1e9 / nanos);
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Creates a god card from its name.
+     *
+     * @param name artemis, demeter, zeus or none
+     * @return the god card, or null for none
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    private static GodCard godCard(String name) {
+        return switch (name.toLowerCase()) {
+            case "artemis" -> new Artemis(null);
+            case "demeter" -> new Demeter(null);
+            case "zeus" -> new Zeus(null);
+            case "none" -> null;
+            default -> throw new IllegalArgumentException("Unknown god card: " + name);
+        };
+    }
+
+    /**
+     * Counts a subtree, forking one task per turn while the remaining depth is above SEQUENTIAL_DEPTH.
+     */
+    private static final class PerftTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // tasks are never serialized; the position is not serializable
+        private final transient GameState STATE;
+        private final int DEPTH;
+
+        /**
+         * Constructor for the PerftTask class.
+         *
+         * @param state the position, owned by the task
+         * @param depth the remaining number of turns
+         */
+        PerftTask(GameState state, int depth) {
+            this.STATE = state;
+            this.DEPTH = depth;
+        }
+
+        /**
+         * Counts the subtree.
+         *
+         * @return the number of sequences of DEPTH turns
+         */
+        @Override
+        protected Long compute() {
+            if (DEPTH <= SEQUENTIAL_DEPTH) {
+                return perft(STATE, DEPTH);
+            }
+            if (STATE.isGameOver()) {
+                return 0L;
+            }
+            MoveGenerator generator = new MoveGenerator();
+            int[] turns = new int[MoveGenerator.capacityFor(STATE)];
+            int count = generator.generate(STATE, turns);
+            List<PerftTask> tasks = new ArrayList<>();
+            for (int i = count == 0 ? -1 : 0; i < count; i++) {
+                GameState child = new GameState(STATE);
+                if (i < 0) {
+                    child.eliminateCurrentPlayer();
+                } else {
+                    generator.play(child, turns, i);
+                }
+                tasks.add(new PerftTask(child, DEPTH - 1));
+            }
+            long nodes = 0;
+            for (PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Counts a subtree on one thread, with a game state and turn buffer per ply.
+     */
+    private static class Counter {
+        private final GameState[] STATES;
+        private final int[][] TURNS;
+        private final MoveGenerator GENERATOR = new MoveGenerator();
+
+        /**
+         * Constructor for the Counter class.
+         *
+         * @param root the position at the root of the subtree
+         * @param depth the number of turns
+         */
+        Counter(GameState root, int depth) {
+            this.STATES = new GameState[depth + 1];
+            this.TURNS = new int[depth][];
+            STATES[0] = new GameState(root);
+            for (int ply = 1; ply <= depth; ply++) {
+                STATES[ply] = new GameState(root);
+            }
+            for (int ply = 0; ply < depth; ply++) {
+                TURNS[ply] = new int[MoveGenerator.capacityFor(root)];
+            }
+        }
+
+        /**
+         * Counts the sequences from the position at a ply.
+         *
+         * @param ply the ply of the position
+         * @param depth the remaining number of turns
+         * @return the number of sequences of depth turns
+         */
+        long count(int ply, int depth) {
+            GameState state = STATES[ply];
+            if (depth == 0) {
+                return 1;
+            }
+            if (state.isGameOver()) {
+                return 0;
+            }
+            int[] turns = TURNS[ply];
+            int count = GENERATOR.generate(state, turns);
+            long nodes = 0;
+            for (int i = count == 0 ? -1 : 0; i < count; i++) {
+                GameState child = STATES[ply + 1];
+                child.copyFrom(state);
+                if (i < 0) {
+                    child.eliminateCurrentPlayer();
+                } else {
+                    GENERATOR.play(child, turns, i);
+                }
+                nodes += count(ply + 1, depth - 1);
+            }
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package engine;
+
+import god.Timing;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zobrist keys identifying Santorini positions by a single 64-bit number.
+ * A position key is the XOR of one random key per feature: the ground of every cell (level and dome),
+ * every worker placement (cell and owning player id), the player to move and the pending god card phase.
+ * Changing one feature only XORs its old and new key, so keys are maintained incrementally as the game is played.
+ * Keys are drawn from a fixed seed, so every board with the same number of cells shares the same table,
+ * and a Board and a GameState of the same position have the same key.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class Zobrist {
+    /**
+     * Number of player ids with their own keys; player ids must lie in 0 to PLAYER_SLOTS - 1.
+     */
+    public static final int PLAYER_SLOTS = 16;
+
+    private static final long SEED = 0x5A4E_7032_1A2B_3C4DL;
+    private static final int LEVELS = GameState.MAX_LEVEL + 1;
+    private static final Map<Integer, Zobrist> TABLES = new ConcurrentHashMap<>();
+
+    private final int CELL_COUNT;
+    private final long[] GROUND;
+    private final long[] DOME;
+    private final long[] WORKER;
+    private final long[] SIDE_TO_MOVE;
+    private final long[] GOD_PHASE;
+    private final long[] PERSPECTIVE;
+
+    /**
+     * Constructor for the Zobrist class, drawing the keys of a board with the given number of cells.
+     *
+     * @param cellCount the number of cells of the board
+     */
+    private Zobrist(int cellCount) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        this.CELL_COUNT = cellCount;
+        this.GROUND = new long[cellCount * LEVELS];
+        this.DOME = new long[cellCount];
+        this.WORKER = new long[cellCount * PLAYER_SLOTS];
+        this.SIDE_TO_MOVE = new long[PLAYER_SLOTS];
+        this.GOD_PHASE = new long[Timing.values().length];
+        fill(random, SIDE_TO_MOVE);
+        fill(random, GOD_PHASE);
+        fill(random, GROUND);
+        fill(random, DOME);
+        fill(random, WORKER);
+        // drawn last, so adding them kept every other key unchanged
+        this.PERSPECTIVE = new long[PLAYER_SLOTS];
+        fill(random, PERSPECTIVE);
+    }
+
+    /**
+     * Returns the shared key table of boards with the given number of cells.
+     *
+     * @param cellCount the number of cells of the board
+     * @return the key table
+     */
+    public static Zobrist forCells(int cellCount) {
+        return TABLES.computeIfAbsent(cellCount, Zobrist::new);
+    }
+
+    /**
+     * Returns the key of the ground of a cell.
+     *
+     * @param cell the cell
+     * @param level the level of the ground, 0 for a floor
+     * @param dome true if the ground has a dome
+     * @return the ground key
+     */
+    public long ground(int cell, int level, boolean dome) {
+        long key = GROUND[cell * LEVELS + level];
+        return dome ? key ^ DOME[cell] : key;
+    }
+
+    /**
+     * Returns the key of a worker of a player standing on a cell.
+     *
+     * @param cell the cell
+     * @param playerId the id of the player owning the worker
+     * @return the worker key
+     */
+    public long worker(int cell, int playerId) {
+        return WORKER[cell * PLAYER_SLOTS + slotOf(playerId)];
+    }
+
+    /**
+     * Returns the key of a player being the player to move.
+     *
+     * @param playerId the id of the player
+     * @return the side-to-move key
+     */
+    public long sideToMove(int playerId) {
+        return SIDE_TO_MOVE[slotOf(playerId)];
+    }
+
+    /**
+     * Returns the key of a pending god card phase.
+     *
+     * @param timing the god card phase, or null when no god card step is pending
+     * @return the phase key, 0 when no phase is pending
+     */
+    public long godPhase(Timing timing) {
+        return timing == null ? 0L : GOD_PHASE[timing.ordinal()];
+    }
+
+    /**
+     * Returns the key of the player a search scores positions for.
+     * It is not part of position keys; caches shared by searches for different players XOR it in,
+     * since the same position has a different score for each of them.
+     *
+     * @param playerId the id of the player
+     * @return the perspective key
+     */
+    public long perspective(int playerId) {
+        return PERSPECTIVE[slotOf(playerId)];
+    }
+
+    /**
+     * Returns the key of a board where every cell is a floor and no worker is placed yet.
+     *
+     * @return the key of the empty board
+     */
+    public long emptyBoard() {
+        long key = 0L;
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            key ^= GROUND[cell * LEVELS];
+        }
+        return key;
+    }
+
+    /**
+     * Computes the key of a game state from scratch, e.g. to check an incrementally maintained key.
+     *
+     * @param state the game state
+     * @return the key of the game state
+     */
+    public long keyOf(GameState state) {
+        long key = 0L;
+        for (int cell = 0; cell < state.getCellCount(); cell++) {
+            key ^= ground(cell, state.getLevel(cell), state.hasDome(cell));
+        }
+        for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+            int cell = state.getWorkerCell(worker);
+            if (cell != GameState.NONE) {
+                key ^= worker(cell, state.getPlayerId(state.getWorkerOwner(worker)));
+            }
+        }
+        return key ^ sideToMove(state.getPlayerId(state.getCurrentPlayer()));
+    }
+
+    /**
+     * Maps a player id onto its key slot.
+     *
+     * @param playerId the id of the player
+     * @return the key slot
+     * @throws IllegalArgumentException if the id has no key slot
+     */
+    private static int slotOf(int playerId) {
+        if (playerId < 0 || playerId >= PLAYER_SLOTS) {
+            throw new IllegalArgumentException("Player id " + playerId + " has no Zobrist key");
+        }
+        return playerId;
+    }
+
+    /**
+     * Fills a key table with random keys.
+     *
+     * @param random the random generator
+     * @param keys the key table
+     */
+    private static void fill(SplittableRandom random, long[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package game;
+
+import board.Board;
+import board.Location;
+import board.Topology;
+import player.Worker;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.Serial;
+import java.net.URL;
+import java.util.function.IntConsumer;
+
+/**
+ * Swing view of the board.
+ * A single component paints the locations straight from the board model, only those inside the clip,
+ * and maps mouse clicks to cells, so that a board of any size costs one component instead of one per location.
+ * Highlights are overlay state of the view; clicks go to a single handler, which the TurnStateMachine routes to
+ * the current phase of the turn. On hex boards every odd row is drawn half a cell to the right.
+ * refresh repaints only the locations the board marked as changed, so a move or build costs a few cells of painting.
+ *
+ * @author Louis Jeremie Ing
+ *
+ * @ModifiedBy Wilson Tan, King Jian Rong
+ *
+ * @version 2.0
+ */
+public final class BoardView extends JComponent implements Scrollable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Width and height of the worker icons.
+     */
+    static final int ICON_SIZE = 30;
+
+    private static final int MAX_VIEWPORT_WIDTH = 1200;
+    private static final int MAX_VIEWPORT_HEIGHT = 800;
+    private static final Color CELL_COLOR = new Color(238, 238, 238);
+    private static final Color BORDER_COLOR = Color.GRAY;
+
+    // the view is never serialized; the board and click handler are not serializable
+    private final transient Board BOARD;
+    private final JScrollPane SCROLL_PANE;
+    private final int CELL_WIDTH;
+    private final int CELL_HEIGHT;
+    private final boolean SHIFT_ODD_ROWS;
+    private final Color[] HIGHLIGHTS;
+    private transient IntConsumer clickHandler;
+    private int pressedCell = -1;
+    private long cellRepaints;
+    private long cellsPainted;
+
+    /**
+     * Constructor for the BoardView class.
+     * Lays the board out in cells of the location button size of GameComponentUI.
+     *
+     * @param board The board to be displayed.
+     */
+    public BoardView(Board board) {
+        this.BOARD = board;
+        this.CELL_WIDTH = Math.max(GameComponentUI.getLocationButtonWidth(), 1);
+        this.CELL_HEIGHT = Math.max(GameComponentUI.getLocationButtonHeight(), 1);
+        this.SHIFT_ODD_ROWS = board.getTOPOLOGY() == Topology.HEX;
+        this.HIGHLIGHTS = new Color[board.getCellCount()];
+
+        int width = board.getWIDTH() * CELL_WIDTH + (SHIFT_ODD_ROWS && board.getHEIGHT() > 1 ? CELL_WIDTH / 2 : 0);
+        setPreferredSize(new Dimension(width, board.getHEIGHT() * CELL_HEIGHT));
+        setOpaque(true);
+        setFont(UIManager.getFont("Button.font"));
+
+        MouseAdapter clicks = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pressedCell = SwingUtilities.isLeftMouseButton(e) ? cellAt(e.getX(), e.getY()) : -1;
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                // like a button, a click is a press and release on the same location
+                if (cell >= 0 && cell == pressedCell) {
+                    fireClick(cell);
+                }
+                pressedCell = -1;
+            }
+        };
+        addMouseListener(clicks);
+
+        this.SCROLL_PANE = new JScrollPane(
+                this,
+                JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
+                JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED
+        );
+    }
+
+    /**
+     * Get the JScrollPane containing the board.
+     *
+     * @return The JScrollPane containing the board.
+     */
+    public JScrollPane getSCROLL_PANE() {
+        return this.SCROLL_PANE;
+    }
+
+    /**
+     * Set the highlight colour of a location.
+     *
+     * @param location The location to highlight.
+     * @param color The colour to use, or null to remove the highlight.
+     */
+    public void setHighlight(Location location, Color color) {
+        int cell = location.getCELL_INDEX();
+        if (HIGHLIGHTS[cell] == color) {
+            return;
+        }
+        HIGHLIGHTS[cell] = color;
+        repaintCell(cell);
+    }
+
+    /**
+     * Get the highlight colour of a location.
+     *
+     * @param location The location.
+     * @return The colour, or null if the location is not highlighted.
+     */
+    public Color getHighlight(Location location) {
+        return HIGHLIGHTS[location.getCELL_INDEX()];
+    }
+
+    /**
+     * Set the handler of clicks on locations, replacing the previous one.
+     *
+     * @param handler The handler, given the cell index of the clicked location, or null to ignore clicks.
+     */
+    public void setClickHandler(IntConsumer handler) {
+        this.clickHandler = handler;
+    }
+
+    /**
+     * Refresh the UI of the board from the board model.
+     * Only the locations the model changed since the last refresh are repainted.
+     */
+    public void refresh() {
+        BOARD.drainDirtyCells(this::repaintCell);
+    }
+
+    /**
+     * Get the number of location repaints requested, by refreshes and highlight changes.
+     *
+     * @return The repaint count.
+     */
+    public long getCellRepaints() {
+        return this.cellRepaints;
+    }
+
+    /**
+     * Get the number of locations painted, which is at most the repaints requested plus the full paints of the board.
+     *
+     * @return The paint count.
+     */
+    public long getCellsPainted() {
+        return this.cellsPainted;
+    }
+
+    /**
+     * Get the cell under a point of the component.
+     *
+     * @param x The x coordinate in the component.
+     * @param y The y coordinate in the component.
+     * @return The cell index, or -1 if the point is on a hole or outside the board.
+     */
+    public int cellAt(int x, int y) {
+        if (x < 0 || y < 0) {
+            return -1;
+        }
+        int row = y / CELL_HEIGHT;
+        int shifted = x - rowShift(row);
+        if (shifted < 0) {
+            return -1;
+        }
+        return BOARD.cellAt(shifted / CELL_WIDTH, row);
+    }
+
+    /**
+     * Paints the locations inside the clip: background or highlight, ground and worker.
+     *
+     * @param graphics The graphics to paint with.
+     */
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Rectangle clip = graphics.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        graphics.setColor(getBackground() != null ? getBackground() : UIManager.getColor("Panel.background"));
+        graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        FontMetrics metrics = graphics.getFontMetrics();
+        int firstRow = Math.max(clip.y / CELL_HEIGHT, 0);
+        int lastRow = Math.min((clip.y + clip.height - 1) / CELL_HEIGHT, BOARD.getHEIGHT() - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int shift = rowShift(row);
+            int firstColumn = Math.max((clip.x - shift) / CELL_WIDTH - 1, 0);
+            int lastColumn = Math.min((clip.x + clip.width - 1 - shift) / CELL_WIDTH, BOARD.getWIDTH() - 1);
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = BOARD.cellAt(column, row);
+                if (cell >= 0) {
+                    paintCell(graphics, metrics, cell, shift + column * CELL_WIDTH, row * CELL_HEIGHT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Paints one location.
+     *
+     * @param graphics The graphics to paint with.
+     * @param metrics The metrics of the font.
+     * @param cell The cell index of the location.
+     * @param x The left of the cell.
+     * @param y The top of the cell.
+     */
+    private void paintCell(Graphics graphics, FontMetrics metrics, int cell, int x, int y) {
+        cellsPainted++;
+        Location location = BOARD.locationAt(cell);
+        graphics.setColor(HIGHLIGHTS[cell] != null ? HIGHLIGHTS[cell] : CELL_COLOR);
+        graphics.fillRect(x + 1, y + 1, CELL_WIDTH - 2, CELL_HEIGHT - 2);
+        graphics.setColor(BORDER_COLOR);
+        graphics.drawRect(x, y, CELL_WIDTH - 1, CELL_HEIGHT - 1);
+
+        String text = location.getGround().toString();
+        Worker worker = BOARD.getWorkerAt(location);
+        int textWidth = metrics.stringWidth(text);
+        int contentWidth = worker == null ? textWidth : ICON_SIZE + metrics.getHeight() / 2 + textWidth;
+        int left = x + (CELL_WIDTH - contentWidth) / 2;
+        if (worker != null) {
+            URL iconPath = worker.getPlayer().getICON_PATH();
+            if (iconPath != null) {
+                Image icon = IconCache.get(iconPath, ICON_SIZE, ICON_SIZE).getImage();
+                graphics.drawImage(icon, left, y + (CELL_HEIGHT - ICON_SIZE) / 2, this);
+            }
+            left += ICON_SIZE + metrics.getHeight() / 2;
+        }
+        graphics.setColor(getForeground() != null ? getForeground() : Color.BLACK);
+        graphics.drawString(text, left, y + (CELL_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent());
+    }
+
+    /**
+     * Repaints the area of one location.
+     *
+     * @param cell The cell index of the location.
+     */
+    private void repaintCell(int cell) {
+        cellRepaints++;
+        Location location = BOARD.locationAt(cell);
+        int row = location.getPOSITION().Y;
+        repaint(rowShift(row) + location.getPOSITION().X * CELL_WIDTH, row * CELL_HEIGHT, CELL_WIDTH, CELL_HEIGHT);
+    }
+
+    /**
+     * Calls the click handler with a location.
+     *
+     * @param cell The cell index of the location.
+     */
+    private void fireClick(int cell) {
+        if (clickHandler != null) {
+            clickHandler.accept(cell);
+        }
+    }
+
+    /**
+     * Get how far a row is drawn to the right.
+     *
+     * @param row The row.
+     * @return Half a cell for odd rows of hex boards, 0 otherwise.
+     */
+    private int rowShift(int row) {
+        return SHIFT_ODD_ROWS && (row & 1) == 1 ? CELL_WIDTH / 2 : 0;
+    }
+
+    /**
+     * Get the size of the scroll pane's viewport: the whole board, up to a size that fits a screen.
+     *
+     * @return The preferred viewport size.
+     */
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension size = getPreferredSize();
+        return new Dimension(Math.min(size.width, MAX_VIEWPORT_WIDTH), Math.min(size.height, MAX_VIEWPORT_HEIGHT));
+    }
+
+    /**
+     * Get the scroll step of the arrows: one cell.
+     *
+     * @param visibleRect The visible area.
+     * @param orientation SwingConstants.VERTICAL or SwingConstants.HORIZONTAL.
+     * @param direction Negative to scroll up or left.
+     * @return The size of a cell in the scroll direction.
+     */
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? CELL_HEIGHT : CELL_WIDTH;
+    }
+
+    /**
+     * Get the scroll step of the track: the visible area less a cell.
+     *
+     * @param visibleRect The visible area.
+     * @param orientation SwingConstants.VERTICAL or SwingConstants.HORIZONTAL.
+     * @param direction Negative to scroll up or left.
+     * @return The block increment.
+     */
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL
+                ? Math.max(visibleRect.height - CELL_HEIGHT, CELL_HEIGHT)
+                : Math.max(visibleRect.width - CELL_WIDTH, CELL_WIDTH);
+    }
+
+    /**
+     * Check if the board is stretched to the width of the viewport.
+     *
+     * @return False, the board keeps its size.
+     */
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    /**
+     * Check if the board is stretched to the height of the viewport.
+     *
+     * @return False, the board keeps its size.
+     */
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
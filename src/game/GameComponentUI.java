@@ -16,17 +16,6 @@ public class GameComponentUI {
     private static int locationButtonWidth;
     private static int locationButtonHeight;
 
-    /**
-     * Create a button for a location on the board.
-     *
-     * @return The created JButton.
-     */
-    public static JButton createLocationButton(){
-        JButton button = new JButton();
-        button.setPreferredSize(new Dimension(locationButtonWidth, locationButtonHeight));
-        return button;
-    }
-
     /**
      * Create a panel for the board.
      *
@@ -1,9 +1,15 @@
 package game;
 
+import ai.Bot;
+import board.Board;
 import board.Location;
+import capability.Capability;
+import engine.GameState;
+import engine.MoveGenerator;
 import god.GodCard;
 import god.Timing;
 import leaderboard.LeaderboardUI;
+import player.ComputerPlayer;
 import player.Player;
 import player.Worker;
 
@@ -12,8 +18,12 @@ import java.awt.*;
 import java.awt.event.ActionListener;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
 
 /**
  * This class is the controller for the Santorini game.
@@ -26,9 +36,21 @@ import java.util.Objects;
  * @version 1.5
  */
 public class GameController {
+    private static final int GOD_CARD_SIZE = 100;
+    private static final URL NO_GOD_CARD_PATH = Objects.requireNonNull(GameController.class.getResource("/resources/NoGodCard.png"));
+
     private final World WORLD;
+    private final BoardView BOARD_VIEW;
+    private final TurnStateMachine TURN;
+    // the click handlers of the phases, created once instead of once per target
+    private final BiConsumer<Location, Location> ON_WORKER_SELECTED = (origin, target) -> onWorkerSelected(target);
+    private final BiConsumer<Location, Location> ON_MOVE = this::onMove;
+    private final BiConsumer<Location, Location> ON_BUILD = this::onBuild;
+    // the bots of the computer players, stopped once the game is over
+    private final List<Bot> BOTS = new ArrayList<>();
     private Player currentPlayer;
     private Worker selectedWorker;
+    private boolean gameOver;
 
     private final JLabel GOD_CARD_LABEL;
     private final JLabel STATUS_LABEL;
@@ -47,6 +69,15 @@ public class GameController {
     public GameController(World world, List<Player> playerList, int numOfWorkers, List<GodCard> godCards, JFrame frame, GameManager gameManager) {
         this.WORLD = world;
         this.WORLD.initializeGame(playerList, numOfWorkers, godCards);
+        for (Player player : playerList) {
+            if (player instanceof ComputerPlayer computerPlayer) {
+                BOTS.add(computerPlayer.getBOT());
+            }
+        }
+        prefetchIcons();
+        this.BOARD_VIEW = new BoardView(world.getBOARD());
+        this.BOARD_VIEW.refresh();
+        this.TURN = new TurnStateMachine(world.getBOARD(), BOARD_VIEW);
         this.gameManager = gameManager;
 
         // title text
@@ -72,7 +103,7 @@ public class GameController {
         JPanel top = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 4));
         top.add(titleTextLabel); // title text
         JPanel mid = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 4));
-        mid.add(world.getBOARD().getSCROLL_PANE());
+        mid.add(BOARD_VIEW.getSCROLL_PANE());
         JPanel low = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 4));
         low.add(GOD_CARD_LABEL); // centred image
         low.add(STATUS_LABEL); // game status
@@ -89,6 +120,24 @@ public class GameController {
         nextPlayer();
     }
 
+    /**
+     * This method starts scaling the worker and god card icons of the game in the background,
+     * so that the board and god card display never scale on the event dispatch thread.
+     */
+    private void prefetchIcons() {
+        List<URL> workerIcons = new ArrayList<>();
+        List<URL> godCardImages = new ArrayList<>();
+        godCardImages.add(NO_GOD_CARD_PATH);
+        for (Player player : WORLD.getPLAYERS()) {
+            workerIcons.add(player.getICON_PATH());
+            if (player.getGodCard() != null) {
+                godCardImages.add(player.getGodCard().getIMAGE_PATH());
+            }
+        }
+        IconCache.prefetch(workerIcons, BoardView.ICON_SIZE, BoardView.ICON_SIZE);
+        IconCache.prefetch(godCardImages, GOD_CARD_SIZE, GOD_CARD_SIZE);
+    }
+
     /**
      * This method handle the switching of players.
      */
@@ -99,13 +148,150 @@ public class GameController {
 
         // check if there are more than 1 player
         if (this.WORLD.getPlayerAmount() <= 1){
+            shutdownBots();
             JOptionPane.showMessageDialog(null, "Player " + currentPlayer.getID() + " wins!");
             System.exit(0);
             return;
         }
+
+        if (currentPlayer instanceof ComputerPlayer computerPlayer) {
+            playComputerTurn(computerPlayer);
+            return;
+        }
         attachSelectWorkerListeners();
     }
 
+    /**
+     * This method lets a computer player think about its turn in the background, then plays it.
+     * The bot searches a snapshot of the world, so the UI stays responsive while it thinks.
+     *
+     * @param player The computer player whose turn it is.
+     */
+    private void playComputerTurn(ComputerPlayer player) {
+        clearAllListeners();
+        updateStatus("Player " + player.getID() + ": Thinking...");
+        GameState state = WORLD.snapshot();
+
+        new SwingWorker<int[], Void>() {
+            @Override
+            protected int[] doInBackground() {
+                return player.getBOT().chooseTurn(state);
+            }
+
+            @Override
+            protected void done() {
+                // the bots are shut down when the game ends, which may stop a search still running
+                if (gameOver) {
+                    return;
+                }
+                int[] turn;
+                try {
+                    turn = get();
+                } catch (InterruptedException | ExecutionException | CancellationException e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(null, "Player " + player.getID() + " could not think of a turn ("
+                            + cause + "), so it plays the first legal one.", "Computer player", JOptionPane.WARNING_MESSAGE);
+                    // the bot may have left its copy of the position half searched, the world has not changed
+                    turn = firstTurn(WORLD.snapshot());
+                }
+                applyComputerTurn(player, turn);
+            }
+        }.execute();
+    }
+
+    /**
+     * This method picks the first legal turn of a position, for a computer player whose search failed.
+     *
+     * @param state The position of the computer player.
+     * @return The turn in the MoveGenerator layout, or null if the current player has no complete turn.
+     */
+    private static int[] firstTurn(GameState state) {
+        int[] turns = new int[MoveGenerator.capacityFor(state)];
+        if (new MoveGenerator().generate(state, turns) == 0) {
+            return null;
+        }
+        return Arrays.copyOf(turns, MoveGenerator.TURN_SIZE);
+    }
+
+    /**
+     * This method plays the turn chosen by a computer player on the world, god card steps included.
+     *
+     * @param player The computer player whose turn it is.
+     * @param turn The turn in the MoveGenerator layout, or null if the player has no complete turn.
+     */
+    private void applyComputerTurn(ComputerPlayer player, int[] turn) {
+        if (turn == null) {
+            JOptionPane.showMessageDialog(null, "Player " + player.getID() + " loses! As your workers can't move anymore haha!");
+            this.WORLD.removePlayer(player);
+            BOARD_VIEW.refresh();
+            nextPlayer();
+            return;
+        }
+
+        // workers are numbered like in the snapshot: in player order, then in each player's worker order
+        List<Worker> workers = new ArrayList<>();
+        for (Player p : WORLD.getPLAYERS()) {
+            workers.addAll(p.getWorkers());
+        }
+        Board board = WORLD.getBOARD();
+        GodCard godCard = player.getGodCard();
+        selectedWorker = workers.get(turn[MoveGenerator.WORKER]);
+        Location from = board.locationOfWorker(selectedWorker);
+        Location to = board.locationAt(turn[MoveGenerator.MOVE]);
+
+        // trapped players are looked for after every move and build, as in the turn of a human player
+        WORLD.processMove(from, to);
+        BOARD_VIEW.refresh();
+        if (endsComputerMove()) {
+            return;
+        }
+        if (turn[MoveGenerator.SECOND_MOVE] != GameState.NONE) {
+            WORLD.setGodPhase(Timing.AFTER_MOVE);
+            Location secondTo = board.locationAt(turn[MoveGenerator.SECOND_MOVE]);
+            godCard.applyAbility(to, secondTo, board);
+            to = secondTo;
+            BOARD_VIEW.refresh();
+            if (endsComputerMove()) {
+                return;
+            }
+        }
+
+        Location at = board.locationAt(turn[MoveGenerator.BUILD]);
+        if (godCard != null && godCard.getActivateTiming() == Timing.BEFORE_BUILD) {
+            WORLD.setGodPhase(Timing.BEFORE_BUILD);
+            selectedWorker.getCAPABILITIES_CONTROLLER().addCapability(Capability.BUILD_BELOW_WORKER_ON_TOWER);
+            godCard.applyAbility(to, at, board);
+        } else {
+            WORLD.processBuild(to, at);
+        }
+        BOARD_VIEW.refresh();
+        if (turn[MoveGenerator.SECOND_BUILD] != GameState.NONE) {
+            if (this.checkLosingPlayer()) {
+                return;
+            }
+            WORLD.setGodPhase(Timing.AFTER_BUILD);
+            godCard.applyAbility(to, board.locationAt(turn[MoveGenerator.SECOND_BUILD]), board);
+            BOARD_VIEW.refresh();
+        }
+        endTurn();
+    }
+
+    /**
+     * This method ends a move of a computer player like onMove: with the win, then with the trapped players.
+     *
+     * @return true if the turn is over, because the game is over or the computer player was removed.
+     */
+    private boolean endsComputerMove() {
+        if (WORLD.isGameOver()) {
+            showWinner();
+            return true;
+        }
+        return this.checkLosingPlayer();
+    }
+
     /**
      * This method updates the display of the god card.
      */
@@ -114,34 +300,25 @@ public class GameController {
         GodCard godCard = currentPlayer.getGodCard();
 
         if (godCard == null) {
-            GOD_CARD_LABEL.setIcon(null);
             GOD_ABILITY_DISABLE_BUTTON.setEnabled(false);
-            ImageIcon icon = new ImageIcon((Objects.requireNonNull(GameController.class.getResource("/resources/NoGodCard.png"))));
-            Image scaled = icon.getImage().getScaledInstance(100,100, Image.SCALE_SMOOTH);
-            GOD_CARD_LABEL.setIcon(new ImageIcon(scaled));
+            GOD_CARD_LABEL.setIcon(IconCache.get(NO_GOD_CARD_PATH, GOD_CARD_SIZE, GOD_CARD_SIZE));
             return;
         }
 
         URL imgPath = currentPlayer.getGodCard().getIMAGE_PATH();
-        ImageIcon icon = new ImageIcon(imgPath);
-        Image scaled = icon.getImage().getScaledInstance(100,100, Image.SCALE_SMOOTH);
-        GOD_CARD_LABEL.setIcon(new ImageIcon(scaled));
+        GOD_CARD_LABEL.setIcon(IconCache.get(imgPath, GOD_CARD_SIZE, GOD_CARD_SIZE));
     }
 
     /**
-     * This method attaches listeners to the worker selection buttons.
+     * This method lets the current player select one of their workers.
      */
     private void attachSelectWorkerListeners() {
         clearAllListeners();
-        for (Location loc : WORLD.getBOARD().allLocations()) {
-            JButton b = loc.getLOCATION_BUTTON();
-            if (loc.hasWorker() && loc.getWorker().getPlayer() == currentPlayer) {
-                b.addActionListener(e -> onWorkerSelected(loc));
-                b.setBackground(Color.CYAN);
-            } else if (loc.hasWorker() && loc.getWorker().getPlayer() == currentPlayer && selectedWorker == loc.getWorker()){
-                b.setBackground(Color.PINK);
-            } else {
-                b.setBackground(null);
+        TURN.enter(TurnPhase.SELECT_WORKER, null, ON_WORKER_SELECTED);
+        for (Worker worker : currentPlayer.getWorkers()) {
+            Location loc = WORLD.getBOARD().locationOfWorker(worker);
+            if (loc != null) {
+                TURN.addTarget(loc);
             }
         }
     }
@@ -157,33 +334,25 @@ public class GameController {
     }
 
     /**
-     * This method attaches listeners to the move buttons.
+     * This method lets the current player pick where the selected worker moves.
      *
      * @param from The location of the selected worker.
      */
     protected void attachMoveListeners(Location from) {
         updateStatus("Player " + currentPlayer.getID() + ": Select move location");
-        boolean canMove = false;
         clearAllListeners();
+        TURN.enter(TurnPhase.MOVE, from, ON_MOVE);
         for (Location loc : from.getExits()) {
-            JButton b = loc.getLOCATION_BUTTON();
             if (loc.canWorkerTravel(selectedWorker)) {
-                b.addActionListener(e -> onMove(from, loc));
-                b.setBackground(Color.GREEN);
-                canMove = true;
-            } else if (loc.hasWorker() && loc.getWorker().getPlayer() == currentPlayer && selectedWorker == loc.getWorker()){
-                b.setBackground(Color.PINK);
-            }
-            else {
-                b.setBackground(null);
+                TURN.addTarget(loc);
             }
         }
 
         // implementing the touch-rule here
-        if (!canMove){
+        if (TURN.getTargetCount() == 0){
             JOptionPane.showMessageDialog(null, "Player " + currentPlayer.getID() + " loses! As you picked a worker that can't move haha!");
             this.WORLD.removePlayer(currentPlayer);
-            WORLD.getBOARD().refreshBoardUI();
+            BOARD_VIEW.refresh();
             nextPlayer();
         }
     }
@@ -196,34 +365,23 @@ public class GameController {
      */
     private void onMove(Location from, Location to) {
         WORLD.processMove(from, to);
-        WORLD.getBOARD().refreshBoardUI();
+        BOARD_VIEW.refresh();
 
         // check win immediately if ground.Tower3 reached
         if (WORLD.isGameOver()) {
-            JOptionPane.showMessageDialog(null, "Player " + currentPlayer.getID() + " wins!");
-
-
-
-            JFrame leaderboardFrame = LeaderboardUI.showLeaderBoard(gameManager.getLeaderboardTableModel());
-            leaderboardFrame.addWindowListener(new java.awt.event.WindowAdapter() {
-                @Override
-                public void windowClosed(java.awt.event.WindowEvent e) {
-                    System.exit(0); // Exit only after leaderboard window is closed
-                }
-            });
-
-
+            showWinner();
             return;
         }
 
-        // perform checking on losing player
-        this.checkLosingPlayer();
-
-
+        // perform checking on losing player; a removed player does not play on
+        if (this.checkLosingPlayer()) {
+            return;
+        }
 
         // god after-move ability (e.g. god.Artemis allows a second move)
         if (currentPlayer.getGodCard() != null && currentPlayer.getGodCard().getActivateTiming() == Timing.AFTER_MOVE) {
             clearAllListeners();
+            WORLD.setGodPhase(Timing.AFTER_MOVE);
             currentPlayer.getGodCard().performAbility(from, to, selectedWorker, GOD_ABILITY_DISABLE_BUTTON, WORLD.getBOARD(), this);
 
             return;
@@ -233,16 +391,41 @@ public class GameController {
     }
 
     /**
-     * This method attaches listeners to the build buttons.
+     * This method stops the search threads of the computer players once the game is over,
+     * and makes a search still running be ignored when it finishes.
+     */
+    private void shutdownBots() {
+        gameOver = true;
+        for (Bot bot : BOTS) {
+            bot.shutdown();
+        }
+    }
+
+    /**
+     * This method announces the current player as the winner and shows the leaderboard.
+     */
+    private void showWinner() {
+        shutdownBots();
+        JOptionPane.showMessageDialog(null, "Player " + currentPlayer.getID() + " wins!");
+
+        JFrame leaderboardFrame = LeaderboardUI.showLeaderBoard(gameManager.getLeaderboardTableModel());
+        leaderboardFrame.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                System.exit(0); // Exit only after leaderboard window is closed
+            }
+        });
+    }
+
+    /**
+     * This method lets the current player pick where the selected worker builds.
      *
      * @param from The location of the selected worker.
      */
     public void attachBuildListeners(Location from) {
-        // perform checking on losing player
-        this.checkLosingPlayer();
-
         updateStatus("Player " + currentPlayer.getID() + ": Select build location");
         if (WORLD.isGameOver()) {
+            shutdownBots();
             JOptionPane.showMessageDialog(null, "Player " + currentPlayer.getID() + " wins!");
 
 
@@ -258,27 +441,29 @@ public class GameController {
             return;
         }
 
+        // perform checking on losing player after the win check, as in onMove; a removed player does not build
+        if (this.checkLosingPlayer()) {
+            return;
+        }
+
         clearAllListeners();
+        WORLD.setGodPhase(null);
 
 
         // God card that Has Ability of Before Building
         if (currentPlayer.getGodCard() != null && currentPlayer.getGodCard().getActivateTiming() == Timing.BEFORE_BUILD) {
             // after build
+            WORLD.setGodPhase(Timing.BEFORE_BUILD);
 
             currentPlayer.getGodCard().performAbility(from, from, selectedWorker, GOD_ABILITY_DISABLE_BUTTON, WORLD.getBOARD(), this);
 
             return;
         }
 
+        TURN.enter(TurnPhase.BUILD, from, ON_BUILD);
         for (Location loc : from.getExits()) {
-            JButton b = loc.getLOCATION_BUTTON();
             if (loc.canWorkerBuild(selectedWorker)) {
-                b.addActionListener(e -> onBuild(from, loc));
-                b.setBackground(Color.ORANGE);
-            } else if (loc.hasWorker() && loc.getWorker().getPlayer() == currentPlayer && selectedWorker == loc.getWorker()){
-                b.setBackground(Color.PINK);
-            } else {
-                b.setBackground(null);
+                TURN.addTarget(loc);
             }
         }
     }
@@ -291,15 +476,18 @@ public class GameController {
      */
     private void onBuild(Location from, Location at) {
         WORLD.processBuild(from, at);
-        WORLD.getBOARD().refreshBoardUI();
+        BOARD_VIEW.refresh();
 
-        // perform checking on losing player
-        this.checkLosingPlayer();
+        // perform checking on losing player; the turn has passed on if the current player was removed
+        if (this.checkLosingPlayer()) {
+            return;
+        }
 
         // god after-build ability (e.g. god.Demeter allows second build)
         if (currentPlayer.getGodCard() != null && currentPlayer.getGodCard().getActivateTiming() == Timing.AFTER_BUILD) {
             // after build
             clearAllListeners();
+            WORLD.setGodPhase(Timing.AFTER_BUILD);
             currentPlayer.getGodCard().performAbility(from, at, selectedWorker, GOD_ABILITY_DISABLE_BUTTON, WORLD.getBOARD(), this);
             return;
         }
@@ -308,16 +496,10 @@ public class GameController {
     }
 
     /**
-     * This method removes all action listeners from the buttons.
+     * This method leaves the current phase of the turn and removes all action listeners from the god ability button.
      */
     private void clearAllListeners() {
-        for (Location loc : WORLD.getBOARD().allLocations()) {
-            JButton b = loc.getLOCATION_BUTTON();
-            for (ActionListener al : b.getActionListeners()) {
-                b.removeActionListener(al);
-            }
-            b.setBackground(null);
-        }
+        TURN.idle();
         // remove action listeners from godDisableAbilityButton
         for (ActionListener al : GOD_ABILITY_DISABLE_BUTTON.getActionListeners()) {
             GOD_ABILITY_DISABLE_BUTTON.removeActionListener(al);
@@ -325,6 +507,31 @@ public class GameController {
         GOD_ABILITY_DISABLE_BUTTON.setEnabled(false); // reset
     }
 
+    /**
+     * Accessor for the view of the board.
+     *
+     * @return the board view
+     */
+    public BoardView getBOARD_VIEW() {
+        return this.BOARD_VIEW;
+    }
+
+    /**
+     * Accessor for the state machine routing clicks on the board to the phase of the turn.
+     *
+     * @return the turn state machine
+     */
+    public TurnStateMachine getTURN() {
+        return this.TURN;
+    }
+
+    /**
+     * This method refreshes the board view after the board has changed.
+     */
+    public void refreshBoard() {
+        BOARD_VIEW.refresh();
+    }
+
     /**
      * This method updates the status label.
      *
@@ -334,24 +541,30 @@ public class GameController {
         STATUS_LABEL.setText(text);
     }
 
+    /**
+     * This method ends the turn of the current player once their god card has built:
+     * trapped players are removed, then the turn passes on unless it already has.
+     */
+    public void endTurn() {
+        if (!this.checkLosingPlayer()) {
+            nextPlayer();
+        }
+    }
+
     /**
      * This method checks for the lost & win condition of the game.
      * Especially on the scenario of workers being trapped by buildings.
+     *
+     * @return true if the turn of the current player is over: they were removed and the turn has passed on,
+     *         or the game is over. The caller must then stop the turn.
      */
-    public void checkLosingPlayer(){
+    public boolean checkLosingPlayer(){
         List<Player> remainingPlayers = new ArrayList<>();
         List<Player> losingPlayers = new ArrayList<>();
+        Board board = this.WORLD.getBOARD();
         for (Player player : WORLD.getPLAYERS()){
-            boolean lose = true;
-
-            for (Worker worker : player.getWorkers()){
-                Location workerLocation = this.WORLD.getBOARD().locationOfWorker(worker);
-                for (Location loc : workerLocation.getExits()){
-                    if (loc.canWorkerTravel(worker)){
-                        lose = false;
-                    }
-                }
-            }
+            // the board keeps the mobility of every worker, so this does not scan their exits
+            boolean lose = board.isTrapped(player);
             if (lose){
                 losingPlayers.add(player);
             }
@@ -364,11 +577,12 @@ public class GameController {
             for (Player player : losingPlayers){
                 JOptionPane.showMessageDialog(null, "Player " + player.getID() + " loses! As your workers can't move anymore haha!");
                 this.WORLD.removePlayer(player);
-                WORLD.getBOARD().refreshBoardUI();
+                BOARD_VIEW.refresh();
             }
         }
 
         if (remainingPlayers.size() <= 1){
+            shutdownBots();
             if (remainingPlayers.size() == 1){
                 JOptionPane.showMessageDialog(null, "Player " + remainingPlayers.getFirst().getID() + " wins!");
 
@@ -395,12 +609,17 @@ public class GameController {
                     }
                 });
             }
+            // the game is over, no one plays on
+            clearAllListeners();
+            return true;
         }
 
         if (!this.WORLD.getPLAYERS().contains(currentPlayer)){
             clearAllListeners();
-            this.WORLD.getBOARD().refreshBoardUI();
+            this.BOARD_VIEW.refresh();
             nextPlayer();
+            return true;
         }
+        return false;
     }
 }
@@ -0,0 +1,150 @@
+package game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scaled images of the game, loaded and scaled once per resource and size, then shared.
+ * prefetch scales icons on a background thread before they are needed, so the event dispatch thread only ever
+ * looks them up; an icon asked for while it is still being scaled is waited for rather than scaled twice.
+ * Every lookup counts as a hit if the icon was already requested, and as a miss if it had to be scaled.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class IconCache {
+    private static final Map<Key, CompletableFuture<ImageIcon>> ICONS = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final ExecutorService SCALER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "icon-scaler");
+        // scaling never keeps the game running once it is closed
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor for the IconCache class.
+     * This constructor is private to prevent instantiation,
+     */
+    private IconCache() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Get an image scaled to a size, scaling it on the calling thread if no one asked for it before.
+     *
+     * @param path The image resource.
+     * @param width The width to scale to.
+     * @param height The height to scale to.
+     * @return The shared scaled icon; it must not be modified.
+     */
+    public static ImageIcon get(URL path, int width, int height) {
+        Key key = new Key(path.toExternalForm(), width, height);
+        CompletableFuture<ImageIcon> icon = ICONS.get(key);
+        if (icon != null) {
+            HITS.incrementAndGet();
+            return icon.join();
+        }
+        CompletableFuture<ImageIcon> scaling = new CompletableFuture<>();
+        icon = ICONS.putIfAbsent(key, scaling);
+        if (icon != null) {
+            HITS.incrementAndGet();
+            return icon.join();
+        }
+        MISSES.incrementAndGet();
+        try {
+            scaling.complete(scale(path, width, height));
+        } catch (RuntimeException e) {
+            // let a later lookup try again instead of waiting forever
+            ICONS.remove(key, scaling);
+            scaling.completeExceptionally(e);
+            throw e;
+        }
+        return scaling.join();
+    }
+
+    /**
+     * Scale images to a size on the background thread, unless they are already cached or being scaled.
+     * These are not counted as hits or misses.
+     *
+     * @param paths The image resources; null entries are skipped.
+     * @param width The width to scale to.
+     * @param height The height to scale to.
+     */
+    public static void prefetch(List<URL> paths, int width, int height) {
+        for (URL path : paths) {
+            if (path != null) {
+                Key key = new Key(path.toExternalForm(), width, height);
+                CompletableFuture<ImageIcon> scaling = ICONS.computeIfAbsent(key,
+                        k -> CompletableFuture.supplyAsync(() -> scale(path, width, height), SCALER));
+                // let a later lookup try again instead of failing forever; added once the future is in the cache,
+                // so a scaling that fails straight away is still removed
+                scaling.whenComplete((icon, e) -> {
+                    if (e != null) {
+                        ICONS.remove(key, scaling);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Get the number of lookups that found their icon already requested.
+     *
+     * @return The hit count.
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * Get the number of lookups that had to scale their icon.
+     *
+     * @return The miss count.
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Forget every icon and reset the counters.
+     */
+    public static void clear() {
+        ICONS.clear();
+        HITS.set(0);
+        MISSES.set(0);
+    }
+
+    /**
+     * Load and scale an image, waiting until the scaled pixels are ready.
+     *
+     * @param path The image resource.
+     * @param width The width to scale to.
+     * @param height The height to scale to.
+     * @return The scaled icon.
+     */
+    private static ImageIcon scale(URL path, int width, int height) {
+        Image image = new ImageIcon(path).getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
+        // ImageIcon waits for the scaled image to be produced
+        return new ImageIcon(image);
+    }
+
+    /**
+     * The cache key: a resource by its URL text, since URL.equals may resolve host names, and a size.
+     *
+     * @param path The external form of the resource URL.
+     * @param width The width.
+     * @param height The height.
+     */
+    private record Key(String path, int width, int height) {
+    }
+}
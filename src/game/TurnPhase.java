@@ -0,0 +1,62 @@
+package game;
+
+import java.awt.*;
+
+/**
+ * The phases of a turn in which the current player picks a location on the board,
+ * each with the colour its legal targets are highlighted in.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public enum TurnPhase {
+    /**
+     * No location can be picked, e.g. while a computer player thinks.
+     */
+    IDLE(null),
+
+    /**
+     * The player picks one of their workers.
+     */
+    SELECT_WORKER(Color.CYAN),
+
+    /**
+     * The player picks where the selected worker moves.
+     */
+    MOVE(Color.GREEN),
+
+    /**
+     * The player picks where the selected worker builds.
+     */
+    BUILD(Color.ORANGE),
+
+    /**
+     * The player picks where a god card moves the selected worker again.
+     */
+    GOD_MOVE(Color.GREEN),
+
+    /**
+     * The player picks where a god card lets the selected worker build.
+     */
+    GOD_BUILD(Color.ORANGE);
+
+    private final Color TARGET_COLOR;
+
+    /**
+     * Constructor for the TurnPhase enum.
+     *
+     * @param targetColor the highlight of the legal targets of the phase
+     */
+    TurnPhase(Color targetColor) {
+        this.TARGET_COLOR = targetColor;
+    }
+
+    /**
+     * Get the colour the legal targets of the phase are highlighted in.
+     *
+     * @return The colour, or null for IDLE.
+     */
+    public Color getTARGET_COLOR() {
+        return this.TARGET_COLOR;
+    }
+}
@@ -0,0 +1,162 @@
+package game;
+
+import board.Board;
+import board.Location;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Routes clicks on the board to the current phase of the turn.
+ * The board view has one permanent click handler, this machine. Each phase is entered with the location it starts
+ * from, such as the selected worker, and one handler; its legal targets are added one by one and highlighted.
+ * A click on a legal target calls the handler with the origin and the target; any other click is ignored.
+ * Entering a phase only clears the highlights of the previous one, so a phase change costs its number of targets,
+ * not the size of the board.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public final class TurnStateMachine {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Board BOARD;
+    private final BoardView BOARD_VIEW;
+    // the clickable cells of the current phase
+    private final BitSet TARGETS;
+    // every cell highlighted in the current phase, targets included, so that leaving it visits only those
+    private int[] highlighted = new int[INITIAL_CAPACITY];
+    private int highlightedCount;
+    private int targetCount;
+    private TurnPhase phase = TurnPhase.IDLE;
+    private Location origin;
+    private BiConsumer<Location, Location> handler;
+
+    /**
+     * Constructor for the TurnStateMachine class.
+     * Becomes the click handler of the board view, starting IDLE.
+     *
+     * @param board The board.
+     * @param boardView The view of the board.
+     */
+    public TurnStateMachine(Board board, BoardView boardView) {
+        this.BOARD = board;
+        this.BOARD_VIEW = boardView;
+        this.TARGETS = new BitSet(board.getCellCount());
+        boardView.setClickHandler(this::onCellClicked);
+    }
+
+    /**
+     * Leave the current phase and enter another, with no targets yet.
+     *
+     * @param phase The phase to enter.
+     * @param origin The location the phase starts from, passed to the handler, or null.
+     * @param handler The handler of a click on a target, given the origin and the target.
+     */
+    public void enter(TurnPhase phase, Location origin, BiConsumer<Location, Location> handler) {
+        for (int i = 0; i < highlightedCount; i++) {
+            int cell = highlighted[i];
+            TARGETS.clear(cell);
+            BOARD_VIEW.setHighlight(BOARD.locationAt(cell), null);
+        }
+        this.highlightedCount = 0;
+        this.targetCount = 0;
+        this.phase = phase;
+        this.origin = origin;
+        this.handler = handler;
+    }
+
+    /**
+     * Leave the current phase, so that clicks are ignored until the next phase.
+     */
+    public void idle() {
+        enter(TurnPhase.IDLE, null, null);
+    }
+
+    /**
+     * Add a legal target to the current phase and highlight it in the colour of the phase.
+     *
+     * @param location The target.
+     */
+    public void addTarget(Location location) {
+        int cell = location.getCELL_INDEX();
+        if (phase == TurnPhase.IDLE || TARGETS.get(cell)) {
+            return;
+        }
+        TARGETS.set(cell);
+        targetCount++;
+        highlight(cell, phase.getTARGET_COLOR());
+    }
+
+    /**
+     * Highlight a location that is not a target during the current phase, such as the selected worker.
+     *
+     * @param location The location.
+     * @param color The colour.
+     */
+    public void mark(Location location, Color color) {
+        int cell = location.getCELL_INDEX();
+        if (!TARGETS.get(cell)) {
+            highlight(cell, color);
+        }
+    }
+
+    /**
+     * Get the current phase.
+     *
+     * @return The phase.
+     */
+    public TurnPhase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Get the number of legal targets of the current phase.
+     *
+     * @return The number of targets.
+     */
+    public int getTargetCount() {
+        return this.targetCount;
+    }
+
+    /**
+     * Check if a location is a legal target of the current phase.
+     *
+     * @param location The location.
+     * @return True if a click on it is handled.
+     */
+    public boolean isTarget(Location location) {
+        return TARGETS.get(location.getCELL_INDEX());
+    }
+
+    /**
+     * Handles a click on the board: calls the handler of the phase if the location is one of its targets.
+     * The handler usually enters the next phase itself.
+     *
+     * @param cell The cell index of the clicked location.
+     */
+    private void onCellClicked(int cell) {
+        if (!TARGETS.get(cell)) {
+            return;
+        }
+        handler.accept(origin, BOARD.locationAt(cell));
+    }
+
+    /**
+     * Highlight a cell and remember it for when the phase is left.
+     *
+     * @param cell The cell index.
+     * @param color The colour.
+     */
+    private void highlight(int cell, Color color) {
+        if (BOARD_VIEW.getHighlight(BOARD.locationAt(cell)) == null) {
+            if (highlightedCount == highlighted.length) {
+                highlighted = Arrays.copyOf(highlighted, highlightedCount * 2);
+            }
+            highlighted[highlightedCount++] = cell;
+        }
+        BOARD_VIEW.setHighlight(BOARD.locationAt(cell), color);
+    }
+}
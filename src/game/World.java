@@ -5,16 +5,20 @@ import action.MoveAction;
 import board.Board;
 import board.Location;
 import capability.Capability;
+import engine.GameState;
 import god.GodCard;
+import god.Timing;
 
 import player.Player;
 import player.Worker;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * This class represents the game world logic.
  * It manages the game state, including worker locations and turns.
+ * The world holds no UI object, so a game can be played on it headlessly.
  *
  * @author Yong Han Lee
  *
@@ -25,20 +29,37 @@ public class World {
     private final List<Player> PLAYERS;
     private final Board BOARD;
     private final Map<Integer, GodCard> AVAILABLE_GOD_CARD;
+    private final RandomGenerator RANDOM;
     private int godCardId = 1;
     private int currentPlayerIndex = -1;
+    private Player playerToMove;
+    private Timing godPhase;
     private GameManager gameManager;
 
     /**
-     * Constructor for the World class.
+     * Constructor for the World class, dealing god cards and worker locations with a randomly seeded generator.
      *
      * @param board The game board.
+     * @param gameManager The game manager keeping the scores, or null when the game is played headlessly.
      */
     public World(Board board, GameManager gameManager) {
+        this(board, gameManager, new SplittableRandom());
+    }
+
+    /**
+     * Constructor for the World class.
+     * The same generator state deals the same god cards and worker locations, so a game can be set up again from its seed.
+     *
+     * @param board The game board.
+     * @param gameManager The game manager keeping the scores, or null when the game is played headlessly.
+     * @param random The generator of this game only, used to deal god cards and worker locations.
+     */
+    public World(Board board, GameManager gameManager, RandomGenerator random) {
         this.AVAILABLE_GOD_CARD = new HashMap<>();
         this.BOARD = board;
         this.PLAYERS = new ArrayList<>();
         this.gameManager = gameManager;
+        this.RANDOM = random;
     }
 
     /**
@@ -85,8 +106,8 @@ public class World {
     public void randomlyAssignGodCards(){
 
         List<Integer> keys = new ArrayList<>(this.AVAILABLE_GOD_CARD.keySet());
-        Collections.shuffle(keys);
-        Collections.shuffle(this.PLAYERS);
+        Collections.shuffle(keys, RANDOM);
+        Collections.shuffle(this.PLAYERS, RANDOM);
 
 
         for (int i = 0; i < PLAYERS.size() && i < this.godCardId - 1; i++){
@@ -112,7 +133,7 @@ public class World {
             throw new IllegalArgumentException("Not enough locations available");
         }
 
-        Collections.shuffle(availableLocations);
+        Collections.shuffle(availableLocations, RANDOM);
 
         int index = 0;
         for (Player player: this.PLAYERS){
@@ -147,7 +168,6 @@ public class World {
 
         // Randomly assign workers to locations
         randomlyAssignWorker(numOfWorkers);
-        BOARD.refreshBoardUI();
     }
 
     /**
@@ -176,19 +196,73 @@ public class World {
      */
     public Player nextPlayer() {
         this.currentPlayerIndex = (this.currentPlayerIndex + 1) % PLAYERS.size();
+        setGodPhase(null);
+        Player player = PLAYERS.get(currentPlayerIndex);
+
+        // keep the side to move in the position key
+        if (this.playerToMove != null) {
+            BOARD.updateZobristKey(BOARD.getZOBRIST().sideToMove(this.playerToMove.getID()));
+        }
+        BOARD.updateZobristKey(BOARD.getZOBRIST().sideToMove(player.getID()));
+        this.playerToMove = player;
+        return player;
+    }
+
+    /**
+     * Records the god card phase the current player is in, which is part of the position key.
+     *
+     * @param timing the pending god card phase, or null once the god card step is over
+     */
+    public void setGodPhase(Timing timing) {
+        BOARD.updateZobristKey(BOARD.getZOBRIST().godPhase(this.godPhase) ^ BOARD.getZOBRIST().godPhase(timing));
+        this.godPhase = timing;
+    }
+
+    /**
+     * Accessor for the Zobrist key of the current position.
+     *
+     * @return the 64-bit position key
+     */
+    public long getPositionKey() {
+        return BOARD.getZobristKey();
+    }
+
+    /**
+     * Accessor for the player whose turn it is.
+     *
+     * @return the current player, or null if the game has not started yet
+     */
+    public Player getCurrentPlayer() {
+        if (this.currentPlayerIndex < 0 || this.currentPlayerIndex >= PLAYERS.size()) {
+            return null;
+        }
         return PLAYERS.get(currentPlayerIndex);
     }
 
+    /**
+     * Takes a headless snapshot of the world, to be searched or simulated without touching the board.
+     *
+     * @return the game state of the world
+     */
+    public GameState snapshot() {
+        return GameState.of(BOARD, PLAYERS, getCurrentPlayer());
+    }
+
     /**
      * Removes a player including player's workers from the game.
+     * The turn order of the other players is kept: if the current player is removed, nextPlayer passes the turn
+     * to the player after them.
      * @param player the player to be removed.
      */
     public void removePlayer(Player player) {
+        int index = this.PLAYERS.indexOf(player);
+        if (index >= 0 && index <= this.currentPlayerIndex) {
+            this.currentPlayerIndex--;
+        }
         this.PLAYERS.remove(player);
         for (Worker worker : player.getWorkers()) {
             BOARD.removeWorker(worker);
         }
-        BOARD.refreshBoardUI();
     }
 
     /**
@@ -201,7 +275,9 @@ public class World {
             for (Worker w : p.getWorkers()) {
                 if (w.getCAPABILITIES_CONTROLLER().hasCapability(Capability.WIN)) {
 
-                    gameManager.updateScore(p.getID(), 1);
+                    if (gameManager != null) {
+                        gameManager.updateScore(p.getID(), 1);
+                    }
 
                     return true;
                 }
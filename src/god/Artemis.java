@@ -4,12 +4,14 @@ import action.DoNothingAction;
 import action.MoveAction;
 import board.Board;
 import board.Location;
+import engine.GameState;
 import game.GameController;
+import game.TurnPhase;
+import game.TurnStateMachine;
 import player.Player;
 import player.Worker;
 
 import javax.swing.*;
-import java.awt.*;
 import java.net.URL;
 
 /**
@@ -38,11 +40,33 @@ public class Artemis extends GodCard {
      */
     @Override
     public void activateAbility(Location from, Location to, Board board, GameController gameController){
-        new MoveAction(to).execute(board.getWorkerAt(from), board, from);
-        board.refreshBoardUI();
+        applyAbility(from, to, board);
+        gameController.refreshBoard();
         gameController.attachBuildListeners(to);
     }
 
+    /**
+     * Overriding the abstract method to move the worker a second time.
+     * @param from The current location of the worker.
+     * @param to The location to move to.
+     * @param board The game board.
+     */
+    @Override
+    public void applyAbility(Location from, Location to, Board board){
+        new MoveAction(to).execute(board.getWorkerAt(from), board, from);
+    }
+
+    /**
+     * Overriding the abstract method to move the worker a second time on a game state.
+     * @param state The game state.
+     * @param worker The worker moving again.
+     * @param cell The cell to move to.
+     */
+    @Override
+    public void applyAbility(GameState state, int worker, int cell){
+        state.moveWorker(worker, cell);
+    }
+
     /**
      * Overriding the abstract method to deactivate the Artemis ability.
      * @param from The original location of the worker.
@@ -53,7 +77,7 @@ public class Artemis extends GodCard {
     @Override
     public void deactivateAbility(Location from, Location to, Board board, GameController gameController){
         new DoNothingAction().execute(board.getWorkerAt(from), board, from);
-        board.refreshBoardUI();
+        gameController.refreshBoard();
         gameController.attachBuildListeners(to);
     }
 
@@ -70,15 +94,11 @@ public class Artemis extends GodCard {
     public boolean performAbility(Location from, Location to, Worker selectedWorker, JButton godDisableAbilityButton, Board board, GameController gameController){
         Player player = selectedWorker.getPlayer();
         gameController.updateStatus("Player " + player.getID() + ": " + player.getGodCard().getName() + " - You can move again if you want!");
+        TurnStateMachine turn = gameController.getTURN();
+        turn.enter(TurnPhase.GOD_MOVE, to, (origin, target) -> activateAbility(origin, target, board, gameController));
         for (Location loc : to.getExits()) {
-            JButton b = loc.getLOCATION_BUTTON();
             if (loc.canWorkerTravel(selectedWorker) && !(loc == from)) { // prevent going back to original location
-                b.addActionListener(e -> activateAbility(to, loc, board, gameController));
-                b.setBackground(Color.GREEN);
-            } else if (loc.hasWorker() && loc.getWorker().getPlayer() == selectedWorker.getPlayer() && selectedWorker == loc.getWorker()){
-                b.setBackground(Color.PINK);
-            } else {
-                b.setBackground(null);
+                turn.addTarget(loc);
             }
         }
 
@@ -4,12 +4,14 @@ import action.BuildAction;
 import action.DoNothingAction;
 import board.Board;
 import board.Location;
+import engine.GameState;
 import game.GameController;
+import game.TurnPhase;
+import game.TurnStateMachine;
 import player.Player;
 import player.Worker;
 
 import javax.swing.*;
-import java.awt.*;
 import java.net.URL;
 
 /**
@@ -40,10 +42,33 @@ public class Demeter extends GodCard {
      */
     @Override
     public void activateAbility(Location from, Location to, Board board, GameController gameController){
+        applyAbility(from, to, board);
+        gameController.refreshBoard();
+        gameController.endTurn();
+    }
+
+    /**
+     * Override the abstract method to build a second time.
+     *
+     * @param from The location of the worker.
+     * @param to The location where the worker is building.
+     * @param board The game board.
+     */
+    @Override
+    public void applyAbility(Location from, Location to, Board board){
         new BuildAction(to).execute(board.getWorkerAt(from), board, from);
-        board.refreshBoardUI();
-        gameController.checkLosingPlayer();
-        gameController.nextPlayer();
+    }
+
+    /**
+     * Override the abstract method to build a second time on a game state.
+     *
+     * @param state The game state.
+     * @param worker The worker building again.
+     * @param cell The cell to build on.
+     */
+    @Override
+    public void applyAbility(GameState state, int worker, int cell){
+        state.build(cell);
     }
 
     /**
@@ -57,9 +82,8 @@ public class Demeter extends GodCard {
     @Override
     public void deactivateAbility(Location from, Location to, Board board, GameController gameController){
         new DoNothingAction().execute(board.getWorkerAt(from), board, from);
-        board.refreshBoardUI();
-        gameController.checkLosingPlayer();
-        gameController.nextPlayer();
+        gameController.refreshBoard();
+        gameController.endTurn();
     }
 
     /**
@@ -76,15 +100,11 @@ public class Demeter extends GodCard {
     public boolean performAbility(Location from, Location builtAt, Worker selectedWorker, JButton godDisableAbilityButton, Board board, GameController gameController){
         Player player = selectedWorker.getPlayer();
         gameController.updateStatus("Player " + player.getID() + ": " + player.getGodCard().getName()  + " - You can build again if you want!");
+        TurnStateMachine turn = gameController.getTURN();
+        turn.enter(TurnPhase.GOD_BUILD, from, (origin, target) -> activateAbility(origin, target, board, gameController));
         for (Location loc : from.getExits()) {
-            JButton b = loc.getLOCATION_BUTTON();
             if (loc.canWorkerBuild(selectedWorker) && !(loc == (builtAt))) { // prevent building at the same location
-                b.addActionListener(e -> activateAbility(from, loc, board, gameController));
-                b.setBackground(Color.ORANGE);
-            } else if (loc.hasWorker() && loc.getWorker().getPlayer() == selectedWorker.getPlayer() && selectedWorker == loc.getWorker()){
-                b.setBackground(Color.PINK);
-            } else {
-                b.setBackground(null);
+                turn.addTarget(loc);
             }
         }
 
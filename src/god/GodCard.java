@@ -2,6 +2,7 @@ package god;
 
 import board.Board;
 import board.Location;
+import engine.GameState;
 import game.GameController;
 import player.Worker;
 
@@ -12,6 +13,8 @@ import java.net.URL;
  * Abstract class representing a God card in the game.
  * Each God card has a name, an image path, and a timing for activation.
  * The class provides methods to perform, activate, and deactivate abilities.
+ * The effect of an ability on the game itself is kept in applyAbility, which needs no UI,
+ * so it can be replayed on a board or on a headless game state.
  *
  * @author Yong Han Lee
  * @version 1.0
@@ -94,4 +97,22 @@ public abstract class GodCard {
      * @param gameController the game controller
      */
     public abstract void deactivateAbility(Location from, Location to, Board board, GameController gameController);
+
+    /**
+     * Applies the effect of the ability to the board, without touching the UI.
+     *
+     * @param from the location of the worker in the previous phase
+     * @param to the location the ability targets
+     * @param board the game board
+     */
+    public abstract void applyAbility(Location from, Location to, Board board);
+
+    /**
+     * Applies the effect of the ability to a headless game state.
+     *
+     * @param state the game state
+     * @param worker the worker using the ability
+     * @param cell the cell the ability targets
+     */
+    public abstract void applyAbility(GameState state, int worker, int cell);
 }
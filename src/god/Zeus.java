@@ -5,7 +5,10 @@ import action.DoNothingAction;
 import board.Board;
 import board.Location;
 import capability.CapabilityController;
+import engine.GameState;
 import game.GameController;
+import game.TurnPhase;
+import game.TurnStateMachine;
 import ground.Ground;
 import player.Player;
 import player.Worker;
@@ -39,22 +42,45 @@ public class Zeus extends GodCard {
      */
     @Override
     public void activateAbility(Location from, Location to, Board board, GameController gameController) {
+        applyAbility(from, to, board);
+
+        gameController.refreshBoard();
+
+        gameController.endTurn();
+    }
+
+
+
+    /**
+     * Overriding the abstract method to build, possibly below the worker itself.
+     * @param from The location of the worker.
+     * @param to The location to build at.
+     * @param board The game board.
+     */
+    @Override
+    public void applyAbility(Location from, Location to, Board board) {
         new BuildAction(to).execute(board.getWorkerAt(from), board, from);
 
         CapabilityController workerCap = from.getWorker().getCAPABILITIES_CONTROLLER();
 
         Ground toGround = from.getGround();
-        workerCap.addCapability(toGround.getCapabilities());
-        workerCap.removeCapability(toGround.getLostCapabilities());
+        workerCap.addCapabilities(toGround.getCapabilityMask());
+        workerCap.removeCapabilities(toGround.getLostCapabilityMask());
         workerCap.removeCapability(WIN);  // remove the win capability so that the worker eventually not win the game by building below itself
-
-        board.refreshBoardUI();
-
-        gameController.checkLosingPlayer();
-        gameController.nextPlayer();
     }
 
-
+    /**
+     * Overriding the abstract method to build, possibly below the worker itself, on a game state.
+     * @param state The game state.
+     * @param worker The worker building.
+     * @param cell The cell to build on.
+     */
+    @Override
+    public void applyAbility(GameState state, int worker, int cell) {
+        state.addCapability(worker, BUILD_BELOW_WORKER_ON_TOWER);
+        state.build(cell);
+        state.refreshCapabilities(worker);
+    }
 
     /**
      * Overriding the abstract method to deactivate the Zeus ability.
@@ -67,10 +93,9 @@ public class Zeus extends GodCard {
     public void deactivateAbility(Location from, Location to, Board board, GameController gameController) {
 
         new DoNothingAction().execute(board.getWorkerAt(from), board, from);
-        board.refreshBoardUI();
+        gameController.refreshBoard();
 
-        gameController.checkLosingPlayer();
-        gameController.nextPlayer();
+        gameController.endTurn();
 
     }
 
@@ -88,15 +113,13 @@ public class Zeus extends GodCard {
         ArrayList<Location> allExits = new ArrayList<>(from.getExits());
         allExits.add(from);
 
+        TurnStateMachine turn = gameController.getTURN();
+        turn.enter(TurnPhase.GOD_BUILD, from, (origin, target) -> activateAbility(origin, target, board, gameController));
         for (Location loc : allExits) {
-            JButton b = loc.getLOCATION_BUTTON();
             if (loc.canWorkerBuild(selectedWorker)) {
-                b.addActionListener(e -> activateAbility(from, loc, board, gameController));
-                b.setBackground(Color.ORANGE);
+                turn.addTarget(loc);
             } else if (loc.hasWorker() && loc.getWorker().getPlayer() == selectedWorker.getPlayer() && selectedWorker == loc.getWorker()){
-                b.setBackground(Color.PINK);
-            } else {
-                b.setBackground(null);
+                turn.mark(loc, Color.PINK);
             }
         }
 
@@ -4,7 +4,7 @@ import board.Location;
 import capability.Capability;
 import player.Worker;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a Floor object that inherits from the abstract Ground class.
@@ -17,18 +17,17 @@ import java.util.ArrayList;
 public class Floor extends Ground {
 
     /**
-     * Constructs a Floor object with default capabilities.
+     * The only Floor instance, shared by every location at this level.
+     */
+    public static final Floor FLOOR = new Floor();
+
+    /**
+     * Constructs the shared Floor instance with default capabilities.
      * Grants MOVE_TO_FLOOR and MOVE_TO_TOWER_1 capabilities,
      * and loses MOVE_TO_TOWER_2 and MOVE_TO_TOWER_3 capabilities.
      */
-    public Floor() {
-        this.level = 0; // Floor level is 0
-        this.capabilityHolds = new ArrayList<>();
-        this.capabilityHolds.add(Capability.MOVE_TO_FLOOR);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_1);
-        this.lostCapability = new ArrayList<>();
-        this.lostCapability.add(Capability.MOVE_TO_TOWER_2);
-        this.lostCapability.add(Capability.MOVE_TO_TOWER_3);
+    private Floor() {
+        super(0, false, List.of(Capability.MOVE_TO_FLOOR, Capability.MOVE_TO_TOWER_1), List.of(Capability.MOVE_TO_TOWER_2, Capability.MOVE_TO_TOWER_3));
     }
 
 
@@ -41,7 +40,7 @@ public class Floor extends Ground {
      */
     @Override
     public boolean canWorkerTravel(Worker worker) {
-        if (this.hasDome) {
+        if (hasDome()) {
             return false;
         }
         return worker.getCAPABILITIES_CONTROLLER().hasCapability(Capability.MOVE_TO_FLOOR);
@@ -55,7 +54,7 @@ public class Floor extends Ground {
      */
     @Override
     public void buildUp(Location location) {
-        location.setGround(new Tower1());
+        location.setGround(Tower1.TOWER_1);
     }
 
 
@@ -2,6 +2,7 @@ package ground;
 
 import board.Location;
 import capability.Capability;
+import capability.CapabilityController;
 import player.Worker;
 
 import java.util.List;
@@ -16,30 +17,53 @@ import java.util.List;
  */
 public abstract class Ground{
     /**
-     * Holds the list of capabilities granted to a Worker while standing on Tower Level 1.
+     * Holds the unmodifiable list of capabilities granted to a Worker while standing on this Ground.
      */
-    protected List<Enum<?>> capabilityHolds;
+    private final List<Enum<?>> CAPABILITY_HOLDS;
 
 
     /**
-     * Holds the list of capabilities lost by a Worker while standing on Tower Level 1.
+     * Holds the unmodifiable list of capabilities lost by a Worker while standing on this Ground.
      */
-    protected List<Enum<?>> lostCapability;
+    private final List<Enum<?>> LOST_CAPABILITY;
+
+
+    /**
+     * Holds the capabilities granted on this Ground as a mask, computed from CAPABILITY_HOLDS.
+     */
+    private final long CAPABILITY_MASK;
+
+
+    /**
+     * Holds the capabilities lost on this Ground as a mask, computed from LOST_CAPABILITY.
+     */
+    private final long LOST_CAPABILITY_MASK;
 
 
     /**
      * Indicates whether a dome is present on this ground.
      */
-    protected boolean hasDome;
+    private final boolean HAS_DOME;
 
-    protected int level;
+    private final int LEVEL;
 
 
     /**
-     * Constructs a new Ground instance without a dome.
+     * Constructs a Ground level descriptor. Grounds are immutable and shared by every location at the same
+     * level, so each Ground type creates its instances once and building swaps the instance of a location.
+     *
+     * @param level the tower level, 0 for a floor
+     * @param hasDome true if a dome is present
+     * @param capabilityHolds the capabilities granted to a Worker standing here
+     * @param lostCapability the capabilities lost by a Worker standing here
      */
-    public Ground() {
-        this.hasDome = false;
+    protected Ground(int level, boolean hasDome, List<? extends Enum<?>> capabilityHolds, List<? extends Enum<?>> lostCapability) {
+        this.LEVEL = level;
+        this.HAS_DOME = hasDome;
+        this.CAPABILITY_HOLDS = List.copyOf(capabilityHolds);
+        this.LOST_CAPABILITY = List.copyOf(lostCapability);
+        this.CAPABILITY_MASK = CapabilityController.maskOf(CAPABILITY_HOLDS);
+        this.LOST_CAPABILITY_MASK = CapabilityController.maskOf(LOST_CAPABILITY);
     }
 
     /**
@@ -48,11 +72,29 @@ public abstract class Ground{
      * @return list of granted capabilities as Enum types
      */
     public List<Enum<?>> getCapabilities() {
-        return capabilityHolds;
+        return CAPABILITY_HOLDS;
+    }
+
+    /**
+     * Returns the capabilities granted to a Worker while on this Ground as a mask.
+     *
+     * @return mask of granted capabilities, one bit per Capability ordinal
+     */
+    public long getCapabilityMask() {
+        return CAPABILITY_MASK;
+    }
+
+    /**
+     * Returns the capabilities lost by a Worker while on this Ground as a mask.
+     *
+     * @return mask of lost capabilities, one bit per Capability ordinal
+     */
+    public long getLostCapabilityMask() {
+        return LOST_CAPABILITY_MASK;
     }
 
     public int getLevel() {
-        return level;
+        return LEVEL;
     }
 
 
@@ -62,13 +104,13 @@ public abstract class Ground{
      * @return list of lost capabilities as Enum types
      */
     public List<Enum<?>> getLostCapabilities() {
-        return lostCapability;
+        return LOST_CAPABILITY;
     }
 
 
 
     /**
-     * Executes logic to build or upgrade the Ground at a specified location.
+     * Builds on the Ground at a specified location by replacing it with the shared Ground of the next level.
      *
      * @param location the Location on the game board where the build occurs
      */
@@ -94,7 +136,7 @@ public abstract class Ground{
      * @param worker the Worker attempting to build
      * @return true if the Worker can build here
      */
-    public boolean canWorkerBuild(Worker worker) {return worker.getCAPABILITIES_CONTROLLER().hasCapability(Capability.BUILD) && !this.hasDome;}
+    public boolean canWorkerBuild(Worker worker) {return worker.getCAPABILITIES_CONTROLLER().hasCapability(Capability.BUILD) && !this.HAS_DOME;}
 
 
     /**
@@ -104,9 +146,7 @@ public abstract class Ground{
      * @param worker the Worker who is gaining the capabilities
      */
     public void addCap(Worker worker) {
-        for (Enum<?> cap : getCapabilities()) {
-            worker.getCAPABILITIES_CONTROLLER().addCapability(cap);
-        }
+        worker.getCAPABILITIES_CONTROLLER().addCapabilities(CAPABILITY_MASK);
     }
 
 
@@ -116,7 +156,7 @@ public abstract class Ground{
      * @return true if there is a dome on this Ground, false otherwise
      */
     public boolean hasDome(){
-        return this.hasDome;
+        return this.HAS_DOME;
     }
 
 
@@ -127,8 +167,6 @@ public abstract class Ground{
      * @param worker the Worker who is losing the capabilities
      */
     public void removeCap(Worker worker) {
-        for (Enum<?> capability : getLostCapabilities()) {
-            worker.getCAPABILITIES_CONTROLLER().removeCapability(capability);
-        }
+        worker.getCAPABILITIES_CONTROLLER().removeCapabilities(LOST_CAPABILITY_MASK);
     }
 }
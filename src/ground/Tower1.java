@@ -4,7 +4,7 @@ import board.Location;
 import capability.Capability;
 import player.Worker;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a Tower Level 1 class that inherits from the abstract Ground class.
@@ -17,18 +17,17 @@ import java.util.ArrayList;
 
 public class Tower1 extends Ground {
     /**
-     * Constructs a Tower Level 1 object with default granted and lost capabilities.
+     * The only Tower Level 1 instance, shared by every location at this level.
+     */
+    public static final Tower1 TOWER_1 = new Tower1();
+
+    /**
+     * Constructs the shared Tower Level 1 instance with default granted and lost capabilities.
      * Grants MOVE_TO_FLOOR, MOVE_TO_TOWER_1, and MOVE_TO_TOWER_2 capabilities,
      * and removes MOVE_TO_TOWER_3 capability.
      */
-    public Tower1() {
-        this.level = 1; // Tower Level 1
-        this.capabilityHolds = new ArrayList<>();
-        this.capabilityHolds.add(Capability.MOVE_TO_FLOOR);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_1);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_2);
-        this.lostCapability = new ArrayList<>();
-        this.lostCapability.add(Capability.MOVE_TO_TOWER_3);
+    private Tower1() {
+        super(1, false, List.of(Capability.MOVE_TO_FLOOR, Capability.MOVE_TO_TOWER_1, Capability.MOVE_TO_TOWER_2), List.of(Capability.MOVE_TO_TOWER_3));
     }
 
 
@@ -42,7 +41,7 @@ public class Tower1 extends Ground {
      */
     @Override
     public boolean canWorkerTravel(Worker worker) {
-        if (this.hasDome) {
+        if (hasDome()) {
             return false;
         }
         return worker.getCAPABILITIES_CONTROLLER().hasCapability(Capability.MOVE_TO_TOWER_1);
@@ -56,7 +55,7 @@ public class Tower1 extends Ground {
      */
     @Override
     public void buildUp(Location location) {
-        location.setGround(new Tower2());
+        location.setGround(Tower2.TOWER_2);
     }
 
 
@@ -4,7 +4,7 @@ import board.Location;
 import capability.Capability;
 import player.Worker;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a Tower Level 2 class that inherits from the abstract ground.Ground class.
@@ -17,18 +17,17 @@ import java.util.ArrayList;
 
 public class Tower2 extends Ground {
     /**
-     * Constructs a Tower Level 2 object with default granted and lost capabilities.
+     * The only Tower Level 2 instance, shared by every location at this level.
+     */
+    public static final Tower2 TOWER_2 = new Tower2();
+
+    /**
+     * Constructs the shared Tower Level 2 instance with default granted and lost capabilities.
      * Grants MOVE_TO_FLOOR, MOVE_TO_TOWER_1, MOVE_TO_TOWER_2, and MOVE_TO_TOWER_3 capabilities.
      * No capabilities are lost at this level.
      */
-    public Tower2() {
-        this.level = 2; // Tower Level 2
-        this.capabilityHolds = new ArrayList<>();
-        this.capabilityHolds.add(Capability.MOVE_TO_FLOOR);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_1);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_2);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_3);
-        this.lostCapability = new ArrayList<>();
+    private Tower2() {
+        super(2, false, List.of(Capability.MOVE_TO_FLOOR, Capability.MOVE_TO_TOWER_1, Capability.MOVE_TO_TOWER_2, Capability.MOVE_TO_TOWER_3), List.of());
     }
 
 
@@ -42,7 +41,7 @@ public class Tower2 extends Ground {
      */
     @Override
     public boolean canWorkerTravel(Worker worker) {
-        if (this.hasDome) {
+        if (hasDome()) {
             return false;
         }
         return worker.getCAPABILITIES_CONTROLLER().hasCapability(Capability.MOVE_TO_TOWER_2);
@@ -56,7 +55,7 @@ public class Tower2 extends Ground {
      */
     @Override
     public void buildUp(Location location) {
-        location.setGround(new Tower3());
+        location.setGround(Tower3.TOWER_3);
     }
 
 
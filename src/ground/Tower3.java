@@ -4,7 +4,7 @@ import board.Location;
 import capability.Capability;
 import player.Worker;
 
-import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -19,18 +19,24 @@ import java.util.ArrayList;
 
 public class Tower3 extends Ground {
     /**
-     * Constructs a Tower Level 3 object with default granted and lost capabilities.
+     * The only Tower Level 3 instance without a dome, shared by every location at this level.
+     */
+    public static final Tower3 TOWER_3 = new Tower3(false);
+
+    /**
+     * The only Tower Level 3 instance with a dome, shared by every domed location.
+     */
+    public static final Tower3 DOME = new Tower3(true);
+
+    /**
+     * Constructs a shared Tower Level 3 instance with default granted and lost capabilities.
      * Grants MOVE_TO_FLOOR, MOVE_TO_TOWER_1, MOVE_TO_TOWER_2, MOVE_TO_TOWER_3, and WIN capabilities.
+     *
+     * @param hasDome true for the domed instance
      */
-    public Tower3() {
-        this.level = 3; // Tower Level 3
-        this.capabilityHolds = new ArrayList<>();
-        this.capabilityHolds.add(Capability.MOVE_TO_FLOOR);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_1);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_2);
-        this.capabilityHolds.add(Capability.MOVE_TO_TOWER_3);
-        this.capabilityHolds.add(Capability.WIN);
-        this.lostCapability = new ArrayList<>();
+    private Tower3(boolean hasDome) {
+        super(3, hasDome, List.of(Capability.MOVE_TO_FLOOR, Capability.MOVE_TO_TOWER_1, Capability.MOVE_TO_TOWER_2,
+                Capability.MOVE_TO_TOWER_3, Capability.WIN), List.of());
     }
 
 
@@ -44,7 +50,7 @@ public class Tower3 extends Ground {
      */
     @Override
     public boolean canWorkerTravel(Worker worker) {
-        if (this.hasDome) {
+        if (hasDome()) {
             return false;
         }
         return worker.getCAPABILITIES_CONTROLLER().hasCapability(Capability.MOVE_TO_TOWER_3);
@@ -59,7 +65,7 @@ public class Tower3 extends Ground {
      */
     @Override
     public void buildUp(Location location) {
-        this.hasDome = true;
+        location.setGround(DOME);
     }
 
 
@@ -71,7 +77,7 @@ public class Tower3 extends Ground {
      */
     @Override
     public String toString() {
-        if (this.hasDome) {
+        if (hasDome()) {
             return "Dome";
         }
         return "Tower 3";
@@ -0,0 +1,36 @@
+package player;
+
+import ai.Bot;
+
+import java.net.URL;
+
+/**
+ * This class represents a player whose turns are chosen by a bot instead of clicks.
+ *
+ * @author King Jian Rong
+ *
+ * @version 1.0
+ */
+public class ComputerPlayer extends Player {
+    private final Bot BOT;
+
+    /**
+     * Constructor for the ComputerPlayer class.
+     *
+     * @param id The player's id.
+     * @param iconPath The player's icon path.
+     * @param bot The bot choosing the player's turns.
+     */
+    public ComputerPlayer(int id, URL iconPath, Bot bot) {
+        super(id, iconPath);
+        this.BOT = bot;
+    }
+
+    /**
+     * This method gets the bot choosing the player's turns.
+     * @return The player's bot.
+     */
+    public Bot getBOT() {
+        return this.BOT;
+    }
+}
@@ -15,6 +15,11 @@ import java.util.List;
  * @version 1.5
  */
 public class Player {
+    /**
+     * The most workers a player can have, which spaces out the ids of the workers of successive players.
+     */
+    public static final int MAX_WORKERS = 8;
+
     private final int ID;
     private final URL ICON_PATH;
     private List<Worker> workers = new ArrayList<>();
@@ -63,9 +68,15 @@ public class Player {
 
     /**
      * This method is used to add a worker to the player's list of workers.
+     * The worker is given the id ID * MAX_WORKERS + its index in the list, unique among the workers of a game.
      * @param worker The worker to be added.
+     * @throws IllegalStateException if the player already has MAX_WORKERS workers.
      */
     public void addWorker(Worker worker) {
+        if (this.workers.size() == MAX_WORKERS) {
+            throw new IllegalStateException("A player has at most " + MAX_WORKERS + " workers.");
+        }
+        worker.setID(this.ID * MAX_WORKERS + this.workers.size());
         this.workers.add(worker);
     }
 
@@ -3,8 +3,6 @@ package player;
 import capability.Capability;
 import capability.CapabilityController;
 
-import javax.swing.*;
-
 /**
  * This class represents a worker in the game. It contains methods to perform actions
  * and interact with the game board.
@@ -16,8 +14,8 @@ import javax.swing.*;
 public class Worker{
 
     private final Player OWNER;
-    private final ImageIcon ICON;
     private final CapabilityController CAPABILITIES_CONTROLLER;
+    private int id = -1;
 
     /**
      * Constructor for Worker.
@@ -25,7 +23,6 @@ public class Worker{
      */
     public Worker(Player owner) {
         this.OWNER = owner;
-        this.ICON = new ImageIcon(this.OWNER.getICON_PATH());
         this.CAPABILITIES_CONTROLLER = new CapabilityController();
         // grant all basic capabilities initially
         CAPABILITIES_CONTROLLER.addCapability(Capability.MOVE_TO_TOWER_1);
@@ -33,14 +30,6 @@ public class Worker{
         CAPABILITIES_CONTROLLER.addCapability(Capability.MOVE_TO_FLOOR);
     }
 
-    /**
-     * Accessor for the icon attribute.
-     * @return the icon of the worker
-     */
-    public ImageIcon getICON() {
-        return this.ICON;
-    }
-
     /**
      * Accessor for the player (owner) property.
      * @return the player who owns this worker
@@ -56,4 +45,20 @@ public class Worker{
     public CapabilityController getCAPABILITIES_CONTROLLER() {
         return this.CAPABILITIES_CONTROLLER;
     }
+
+    /**
+     * Accessor for the id of the worker, given by its player.
+     * @return the id, unique among the workers of a game, or -1 before the worker is added to its player
+     */
+    public int getID() {
+        return this.id;
+    }
+
+    /**
+     * Mutator for the id of the worker.
+     * @param id the id given by the player
+     */
+    void setID(int id) {
+        this.id = id;
+    }
 }
@@ -2,24 +2,39 @@ package player;
 
 import board.Location;
 
-import java.util.*;
+import java.util.Arrays;
+
 /**
  * The WorkerLocationController class is responsible for managing the mapping.
  * Enforcing one worker per location.
+ * The mapping is kept in dense arrays: cell index to worker id and worker id to cell index, the ids being the
+ * ones players give their workers. Every lookup is an array access, with no hashing or boxing. Each controller
+ * has its own arrays, so a worker can be placed on several boards at once, such as a board and its copy.
  *
  * @author Yong Han Lee
- * @version 1.0
+ * @version 2.0
+ * @ModifiedBy King Jian Rong
  */
 public class WorkerLocationController {
-    private final Map<Worker, Location> WORKER_LOCATION_MAP;
-    private final Map<Location, Worker> LOCATION_WORKER_MAP;
+    private static final int NONE = -1;
+    private static final int INITIAL_WORKERS = 4 * Player.MAX_WORKERS;
+    private static final int INITIAL_CELLS = 32;
+
+    private Worker[] workers;
+    private int[] workerCells;
+    private int[] cellWorkers;
+    private Location[] locations;
 
     /**
      * Constructor for WorkerLocationController.
      */
     public WorkerLocationController(){
-        this.WORKER_LOCATION_MAP = new HashMap<Worker, Location>();
-        this.LOCATION_WORKER_MAP = new HashMap<Location, Worker>();
+        this.workers = new Worker[INITIAL_WORKERS];
+        this.workerCells = new int[INITIAL_WORKERS];
+        Arrays.fill(this.workerCells, NONE);
+        this.cellWorkers = new int[INITIAL_CELLS];
+        this.locations = new Location[INITIAL_CELLS];
+        Arrays.fill(this.cellWorkers, NONE);
     }
 
     /**
@@ -27,7 +42,8 @@ public class WorkerLocationController {
      *
      * @param worker the Worker to place
      * @param location where to place the Worker
-     * @throws IllegalArgumentException if the Worker is already placed or there is already a Worker at the target Location
+     * @throws IllegalArgumentException if the Worker is already placed, has not been added to its player yet,
+     *         or there is already a Worker at the target Location
      */
     public void addWorker(Worker worker, Location location){
         if (this.isWorkerExists(worker)) {
@@ -37,8 +53,7 @@ public class WorkerLocationController {
             throw new IllegalArgumentException("Location already has a worker.");
         }
 
-        WORKER_LOCATION_MAP.put(worker, location);
-        LOCATION_WORKER_MAP.put(location, worker);
+        place(idFor(worker), location);
     }
 
     /**
@@ -47,25 +62,31 @@ public class WorkerLocationController {
      * @param worker the Worker to remove
      */
     public void removeWorker(Worker worker) {
-        Location location = WORKER_LOCATION_MAP.get(worker);
-        WORKER_LOCATION_MAP.remove(worker);
-        LOCATION_WORKER_MAP.remove(location);
+        int cell = cellOfWorker(worker);
+        if (cell == NONE) {
+            return;
+        }
+        cellWorkers[cell] = NONE;
+        workerCells[worker.getID()] = NONE;
     }
 
     /**
      * Moves the worker to a new location and updates the mapping accordingly.
      * @param worker the Worker to move
      * @param location the new Location for the Worker
+     * @throws IllegalArgumentException if there is already a Worker at the target Location, or the Worker has not
+     *         been added to its player yet
      */
     public void moveWorker(Worker worker, Location location){
-        Location previousLocation = this.WORKER_LOCATION_MAP.get(worker);
         if (this.isWorkerAt(location)) {
             throw new IllegalArgumentException("Location already has a worker.");
         }
 
-        this.WORKER_LOCATION_MAP.put(worker, location);
-        this.LOCATION_WORKER_MAP.remove(previousLocation);
-        this.LOCATION_WORKER_MAP.put(location, worker);
+        int id = idFor(worker);
+        if (workerCells[id] != NONE) {
+            cellWorkers[workerCells[id]] = NONE;
+        }
+        place(id, location);
     }
 
     /**
@@ -74,7 +95,16 @@ public class WorkerLocationController {
      * @return true if a worker is at the location, false otherwise
      */
     public boolean isWorkerAt(Location location){
-        return this.LOCATION_WORKER_MAP.containsKey(location);
+        return isWorkerAt(location.getCELL_INDEX());
+    }
+
+    /**
+     * Checks if a worker is at the given cell.
+     * @param cell the cell index to check
+     * @return true if a worker is at the cell, false otherwise
+     */
+    public boolean isWorkerAt(int cell){
+        return cell < cellWorkers.length && cellWorkers[cell] != NONE;
     }
 
     /**
@@ -83,7 +113,7 @@ public class WorkerLocationController {
      * @return true if the Worker exists, false otherwise
      */
     public boolean isWorkerExists(Worker worker){
-        return this.WORKER_LOCATION_MAP.containsKey(worker);
+        return cellOfWorker(worker) != NONE;
     }
 
     /**
@@ -92,7 +122,16 @@ public class WorkerLocationController {
      * @return the Worker at the location
      */
     public Worker getWorkerAt(Location location){
-        return this.LOCATION_WORKER_MAP.get(location);
+        return getWorkerAt(location.getCELL_INDEX());
+    }
+
+    /**
+     * Returns the Worker at the given cell.
+     * @param cell the cell index to check
+     * @return the Worker at the cell, or null if there is none
+     */
+    public Worker getWorkerAt(int cell){
+        return isWorkerAt(cell) ? workers[cellWorkers[cell]] : null;
     }
 
     /**
@@ -101,6 +140,60 @@ public class WorkerLocationController {
      * @return the Location of the Worker
      */
     public Location locationOfWorker(Worker worker){
-        return this.WORKER_LOCATION_MAP.get(worker);
+        int cell = cellOfWorker(worker);
+        return cell == NONE ? null : locations[cell];
+    }
+
+    /**
+     * Returns the cell index of the given Worker.
+     * @param worker the Worker to check
+     * @return the cell of the Worker, or -1 if it is not on the board
+     */
+    public int cellOfWorker(Worker worker){
+        int id = worker.getID();
+        return id >= 0 && id < workerCells.length && workers[id] == worker ? workerCells[id] : NONE;
+    }
+
+    /**
+     * Records a worker id at a location.
+     *
+     * @param id the id of the worker
+     * @param location the location
+     */
+    private void place(int id, Location location) {
+        int cell = location.getCELL_INDEX();
+        if (cell >= cellWorkers.length) {
+            int length = Math.max(cell + 1, cellWorkers.length * 2);
+            int oldLength = cellWorkers.length;
+            cellWorkers = Arrays.copyOf(cellWorkers, length);
+            Arrays.fill(cellWorkers, oldLength, length, NONE);
+            locations = Arrays.copyOf(locations, length);
+        }
+        cellWorkers[cell] = id;
+        locations[cell] = location;
+        workerCells[id] = cell;
+    }
+
+    /**
+     * Returns the id of a worker about to be placed, making room for it.
+     *
+     * @param worker the worker
+     * @return the id
+     * @throws IllegalArgumentException if the worker has no id yet
+     */
+    private int idFor(Worker worker) {
+        int id = worker.getID();
+        if (id < 0) {
+            throw new IllegalArgumentException("Worker has no id, add it to its player first.");
+        }
+        if (id >= workers.length) {
+            int length = Math.max(id + 1, workers.length * 2);
+            int oldLength = workerCells.length;
+            workers = Arrays.copyOf(workers, length);
+            workerCells = Arrays.copyOf(workerCells, length);
+            Arrays.fill(workerCells, oldLength, length, NONE);
+        }
+        workers[id] = worker;
+        return id;
     }
 }
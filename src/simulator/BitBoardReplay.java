@@ -0,0 +1,232 @@
+package simulator;
+
+import engine.BitBoard;
+import engine.GameState;
+import engine.MoveGenerator;
+import engine.Perft;
+import god.Artemis;
+import god.Demeter;
+import god.GodCard;
+import god.Zeus;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays random games on a GameState and checks after every turn that the BitBoard it keeps agrees with its arrays:
+ * the masks equal a bitboard built afresh from the arrays, every move and build the masks allow is one
+ * canWorkerTravel and canWorkerBuild allow between neighbours, Zeus's build below its worker included, the
+ * trapped players are the same, and MoveGenerator produces the same turns from the masks as from the neighbour
+ * lists. Two moves reaching a cell are generated once, through whichever middle cell comes first, and the masks
+ * list cells in another order than the neighbour lists, so the middle cell of a second move is not compared.
+ * The players hold Artemis, Demeter, Zeus and no god card in turn.
+ * Every game is seeded with the seed plus its index, so a failing game is replayed by its seed.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class BitBoardReplay {
+    private static final int MAX_TURNS = 500;
+
+    private final URL MAP_PATH;
+    private final int PLAYERS;
+    private final MoveGenerator MASKS = new MoveGenerator(true);
+    private final MoveGenerator NEIGHBOURS = new MoveGenerator(false);
+    private int turns;
+    private long checks;
+
+    /**
+     * Constructor for the BitBoardReplay class.
+     *
+     * @param mapPath the map of every game, of at most BitBoard.MAX_CELLS cells
+     * @param players the number of players of every game
+     */
+    public BitBoardReplay(URL mapPath, int players) {
+        this.MAP_PATH = mapPath;
+        this.PLAYERS = players;
+    }
+
+    /**
+     * Plays one random game and compares the bitboard with the arrays after every turn.
+     *
+     * @param seed the seed of the game
+     * @throws IllegalStateException at the first difference, or if the map is too large for a bitboard
+     * @throws Exception if the map cannot be read
+     */
+    public void replay(long seed) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<GodCard> godCards = new ArrayList<>();
+        for (int player = 0; player < PLAYERS; player++) {
+            godCards.add(switch (player % 4) {
+                case 0 -> new Artemis(null);
+                case 1 -> new Demeter(null);
+                case 2 -> new Zeus(null);
+                default -> null;
+            });
+        }
+        GameState state = Perft.startingPosition(MAP_PATH, godCards);
+        if (state.getBitBoard() == null) {
+            throw new IllegalStateException("The map has more than " + BitBoard.MAX_CELLS + " cells");
+        }
+        int[] buffer = new int[MoveGenerator.capacityFor(state)];
+        int[] expected = new int[buffer.length];
+        compare(state, seed, 0);
+
+        for (int turn = 1; turn <= MAX_TURNS && !state.isGameOver(); turn++) {
+            int count = MASKS.generate(state, buffer);
+            if (!sameTurns(buffer, count, expected, NEIGHBOURS.generate(state, expected))) {
+                throw mismatch(seed, turn - 1, "the turns of player " + state.getPlayerId(state.getCurrentPlayer()));
+            }
+            if (count == 0) {
+                state.eliminateCurrentPlayer();
+            } else {
+                MASKS.play(state, buffer, random.nextInt(count));
+            }
+            compare(state, seed, turn);
+            turns++;
+        }
+    }
+
+    /**
+     * Compares the bitboard of a game state with its arrays.
+     *
+     * @param state the game state
+     * @param seed the seed of the game, for the report
+     * @param turn the number of turns played, for the report
+     * @throws IllegalStateException if they differ
+     */
+    private void compare(GameState state, long seed, int turn) {
+        BitBoard bitBoard = state.getBitBoard();
+        if (!bitBoard.samePosition(BitBoard.of(state))) {
+            throw mismatch(seed, turn, "the masks");
+        }
+        int[] offsets = state.getADJACENCY().getOFFSETS();
+        int[] neighbours = state.getADJACENCY().getNEIGHBOURS();
+        for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+            int from = state.getWorkerCell(worker);
+            if (from == GameState.NONE) {
+                continue;
+            }
+            long capabilities = state.getWorkerCapabilities(worker);
+            boolean[] neighbour = new boolean[state.getCellCount()];
+            for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+                neighbour[neighbours[i]] = true;
+            }
+            for (int cell = 0; cell < state.getCellCount(); cell++) {
+                boolean travel = neighbour[cell] && state.canWorkerTravel(worker, cell);
+                if (bitBoard.canMove(capabilities, from, cell) != travel) {
+                    throw mismatch(seed, turn, "a move of worker " + worker + " to cell " + cell);
+                }
+                boolean build = (neighbour[cell] || cell == from) && state.canWorkerBuild(worker, cell);
+                if (bitBoard.canBuild(capabilities, from, cell) != build) {
+                    throw mismatch(seed, turn, "a build of worker " + worker + " on cell " + cell);
+                }
+                checks += 2;
+            }
+        }
+        for (int player = 0; player < state.getPlayerCount(); player++) {
+            if (!state.isEliminated(player) && state.hasLegalMove(player) != canMove(state, player)) {
+                throw mismatch(seed, turn, "trapped player " + state.getPlayerId(player));
+            }
+        }
+    }
+
+    /**
+     * Checks if a player can move by testing every neighbour of its workers with canWorkerTravel.
+     *
+     * @param state the game state
+     * @param player the player index
+     * @return true if any worker of the player can travel to a neighbouring cell
+     */
+    private static boolean canMove(GameState state, int player) {
+        int[] offsets = state.getADJACENCY().getOFFSETS();
+        int[] neighbours = state.getADJACENCY().getNEIGHBOURS();
+        for (int worker = 0; worker < state.getWorkerCount(); worker++) {
+            int from = state.getWorkerCell(worker);
+            if (state.getWorkerOwner(worker) != player || from == GameState.NONE) {
+                continue;
+            }
+            for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+                if (state.canWorkerTravel(worker, neighbours[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if two turn lists hold the same turns, in any order and whatever the middle cell of second moves.
+     *
+     * @param turns the first turn buffer
+     * @param count the number of turns in the first buffer
+     * @param others the second turn buffer
+     * @param otherCount the number of turns in the second buffer
+     * @return true if both hold the same turns
+     */
+    private static boolean sameTurns(int[] turns, int count, int[] others, int otherCount) {
+        return count == otherCount && Arrays.equals(sortedKeys(turns, count), sortedKeys(others, otherCount));
+    }
+
+    /**
+     * Packs every turn of a buffer into one long, a byte per step and the middle cell of a second move left out,
+     * and sorts them.
+     *
+     * @param turns the turn buffer
+     * @param count the number of turns
+     * @return the sorted turn keys
+     */
+    private static long[] sortedKeys(int[] turns, int count) {
+        long[] keys = new long[count];
+        for (int turn = 0; turn < count; turn++) {
+            int offset = turn * MoveGenerator.TURN_SIZE;
+            for (int step = 0; step < MoveGenerator.TURN_SIZE; step++) {
+                int value = step == MoveGenerator.MOVE && turns[offset + MoveGenerator.SECOND_MOVE] != GameState.NONE
+                        ? GameState.NONE : turns[offset + step];
+                // NONE packs as 0
+                keys[turn] = keys[turn] << 8 | (value + 1);
+            }
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Builds the error reporting a difference.
+     *
+     * @param seed the seed of the game
+     * @param turn the number of turns played
+     * @param what what differs
+     * @return the error
+     */
+    private static IllegalStateException mismatch(long seed, int turn, String what) {
+        return new IllegalStateException("Bitboard and game state differ on " + what + " after turn " + turn
+                + " of the game with seed " + seed);
+    }
+
+    /**
+     * Replays random games and prints a summary, or fails at the first difference.
+     * Usage: BitBoardReplay [games=1000] [players=3] [seed=1] [map=file]
+     *
+     * @param args the number of games, the number of players, the seed of the first game and the map file
+     * @throws Exception if the map cannot be read, or an IllegalStateException at the first difference
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        URL mapPath = args.length > 3 ? new File(args[3]).toURI().toURL()
+                : BitBoardReplay.class.getResource("/resources/map.txt");
+
+        BitBoardReplay replay = new BitBoardReplay(mapPath, players);
+        for (int game = 0; game < games; game++) {
+            replay.replay(seed + game);
+        }
+        System.out.printf("%d games of %d players agree: %d turns, %d legality checks%n",
+                games, players, replay.turns, replay.checks);
+    }
+}
@@ -0,0 +1,36 @@
+package simulator;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of one simulated game, written as a line of the results file.
+ *
+ * @param game the index of the game
+ * @param seed the seed the game was set up and played with
+ * @param winnerId the id of the winning player, or 0 if every player was eliminated
+ * @param winnerGod the god card of the winner, "none" if it has no god card, or "-" without a winner
+ * @param turns the number of turns played, eliminations of players without a turn included
+ * @param nanos the time the game took
+ * @param gods the god card of each player, in player order, "none" for players without one
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public record GameRecord(int game, long seed, int winnerId, String winnerGod, int turns, long nanos, List<String> gods) {
+    /**
+     * The header line of the results file.
+     */
+    public static final String CSV_HEADER = "game,seed,winner,winner_god,turns,millis,gods";
+
+    /**
+     * Formats the record as a line of the results file.
+     *
+     * @return the comma-separated values, with the god cards separated by '|' and a '.' decimal point whatever the
+     *         default locale
+     */
+    public String toCsv() {
+        return game + "," + seed + "," + winnerId + "," + winnerGod + "," + turns + "," + String.format(Locale.ROOT, "%.3f", nanos / 1e6)
+                + "," + String.join("|", gods);
+    }
+}
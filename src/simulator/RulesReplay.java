@@ -0,0 +1,288 @@
+package simulator;
+
+import board.Board;
+import board.Location;
+import capability.Capability;
+import engine.GameState;
+import engine.MoveGenerator;
+import game.World;
+import god.Artemis;
+import god.Demeter;
+import god.GodCard;
+import god.Timing;
+import god.Zeus;
+import player.Player;
+import player.Worker;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays random games twice in lockstep: on a World, step by step the way GameController drives the board, and on
+ * a GameState, one playTurn per turn. After every turn it checks that both agree on the grounds, the workers and
+ * their capabilities, the removed players, the winner, the player to move and the position key, and that the
+ * mobility the board keeps for each worker matches a count of its exits.
+ * The engine searches and simulates games on GameState only, so run this after changing the rules on either side.
+ * Every game is seeded with the seed plus its index, so a failing game is replayed by its seed.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class RulesReplay {
+    private static final int WORKERS_PER_PLAYER = 2;
+    private static final int MAX_TURNS = 500;
+    private static final long BUILD_BELOW_MASK = GameState.maskOf(Capability.BUILD_BELOW_WORKER_ON_TOWER);
+
+    private final URL MAP_PATH;
+    private final int PLAYERS;
+    private final MoveGenerator GENERATOR = new MoveGenerator();
+    private int turns;
+    private int wins;
+    private int eliminations;
+
+    /**
+     * Constructor for the RulesReplay class.
+     *
+     * @param mapPath the map of every game
+     * @param players the number of players of every game
+     */
+    public RulesReplay(URL mapPath, int players) {
+        this.MAP_PATH = mapPath;
+        this.PLAYERS = players;
+    }
+
+    /**
+     * Plays one random game on both sides and compares them after every turn.
+     *
+     * @param seed the seed of the game
+     * @throws IllegalStateException at the first difference between the board and the game state
+     * @throws Exception if the map cannot be read
+     */
+    public void replay(long seed) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Player> seats = new ArrayList<>();
+        for (int id = 1; id <= PLAYERS; id++) {
+            Player player = new Player(id, null);
+            for (int i = 0; i < WORKERS_PER_PLAYER; i++) {
+                player.addWorker(new Worker(player));
+            }
+            seats.add(player);
+        }
+        World world = new World(new Board(MAP_PATH, PLAYERS), null, random.split());
+        world.initializeGame(seats, WORKERS_PER_PLAYER, List.of(new Artemis(null), new Demeter(null), new Zeus(null)));
+        world.nextPlayer();
+        GameState state = world.snapshot();
+        // the workers in the numbering of the game state
+        List<Worker> workers = new ArrayList<>();
+        for (Player player : seats) {
+            workers.addAll(player.getWorkers());
+        }
+        int[] buffer = new int[MoveGenerator.capacityFor(state)];
+        compare(world, state, seats, workers, seed, 0);
+
+        for (int turn = 1; turn <= MAX_TURNS && !state.isGameOver(); turn++) {
+            Player player = world.getCurrentPlayer();
+            int count = GENERATOR.generate(state, buffer);
+            if (count == 0) {
+                // a player without a complete turn loses, as when their selected worker cannot move
+                state.eliminateCurrentPlayer();
+                world.removePlayer(player);
+                world.nextPlayer();
+                eliminations++;
+            } else {
+                int offset = random.nextInt(count) * MoveGenerator.TURN_SIZE;
+                playTurn(world, workers.get(buffer[offset + MoveGenerator.WORKER]), buffer, offset);
+                state.playTurn(buffer[offset + MoveGenerator.WORKER], buffer[offset + MoveGenerator.MOVE],
+                        buffer[offset + MoveGenerator.SECOND_MOVE], buffer[offset + MoveGenerator.BUILD],
+                        buffer[offset + MoveGenerator.SECOND_BUILD]);
+            }
+            compare(world, state, seats, workers, seed, turn);
+            turns++;
+        }
+        if (state.getWinner() != GameState.NONE) {
+            wins++;
+        }
+    }
+
+    /**
+     * Plays a turn on the board in the order GameController does: the move, the god card's second move, the build
+     * (through Zeus's god card) and the god card's second build, with a win check after each move and trapped
+     * players removed after each step, then the next player.
+     *
+     * @param world the world
+     * @param worker the worker of the current player
+     * @param buffer the turns generated on the game state
+     * @param offset the offset of the chosen turn
+     */
+    private void playTurn(World world, Worker worker, int[] buffer, int offset) {
+        Board board = world.getBOARD();
+        Player player = world.getCurrentPlayer();
+        GodCard godCard = player.getGodCard();
+        Location at = board.locationAt(buffer[offset + MoveGenerator.MOVE]);
+        world.processMove(board.locationOfWorker(worker), at);
+        if (world.isGameOver() || removeTrappedPlayers(world, player)) {
+            return;
+        }
+        if (buffer[offset + MoveGenerator.SECOND_MOVE] != GameState.NONE) {
+            Location second = board.locationAt(buffer[offset + MoveGenerator.SECOND_MOVE]);
+            godCard.applyAbility(at, second, board);
+            at = second;
+            if (world.isGameOver() || removeTrappedPlayers(world, player)) {
+                return;
+            }
+        }
+        Location build = board.locationAt(buffer[offset + MoveGenerator.BUILD]);
+        if (godCard != null && godCard.getActivateTiming() == Timing.BEFORE_BUILD) {
+            worker.getCAPABILITIES_CONTROLLER().addCapability(Capability.BUILD_BELOW_WORKER_ON_TOWER);
+            godCard.applyAbility(at, build, board);
+        } else {
+            world.processBuild(at, build);
+        }
+        if (removeTrappedPlayers(world, player)) {
+            return;
+        }
+        if (buffer[offset + MoveGenerator.SECOND_BUILD] != GameState.NONE) {
+            godCard.applyAbility(at, board.locationAt(buffer[offset + MoveGenerator.SECOND_BUILD]), board);
+        }
+        if (!removeTrappedPlayers(world, player)) {
+            world.nextPlayer();
+        }
+    }
+
+    /**
+     * Removes every trapped player from the world, like GameController.checkLosingPlayer.
+     *
+     * @param world the world
+     * @param currentPlayer the player whose turn it is
+     * @return true if the current player was removed, in which case the turn has passed on, or if the game is over
+     */
+    private boolean removeTrappedPlayers(World world, Player currentPlayer) {
+        List<Player> losingPlayers = new ArrayList<>();
+        for (Player player : world.getPLAYERS()) {
+            if (world.getBOARD().isTrapped(player)) {
+                losingPlayers.add(player);
+            }
+        }
+        for (Player player : losingPlayers) {
+            world.removePlayer(player);
+            eliminations++;
+        }
+        if (world.getPLAYERS().size() <= 1) {
+            return true;
+        }
+        if (!world.getPLAYERS().contains(currentPlayer)) {
+            world.nextPlayer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compares the world with the game state.
+     *
+     * @param world the world
+     * @param state the game state
+     * @param seats the players in the numbering of the game state
+     * @param workers the workers in the numbering of the game state
+     * @param seed the seed of the game, for the report
+     * @param turn the number of turns played, for the report
+     * @throws IllegalStateException if they differ
+     */
+    private static void compare(World world, GameState state, List<Player> seats, List<Worker> workers, long seed,
+                                int turn) {
+        Board board = world.getBOARD();
+        for (int cell = 0; cell < state.getCellCount(); cell++) {
+            Location location = board.locationAt(cell);
+            Worker worker = board.getWorkerAt(location);
+            int expected = worker == null ? GameState.NONE : workers.indexOf(worker);
+            if (location.getGround().getLevel() != state.getLevel(cell)
+                    || location.getGround().hasDome() != state.hasDome(cell) || expected != state.getWorkerAt(cell)) {
+                throw mismatch(seed, turn, "cell " + cell);
+            }
+        }
+        for (int w = 0; w < workers.size(); w++) {
+            Worker worker = workers.get(w);
+            // Zeus's workers keep building below themselves on the board; the game state grants it per build
+            long capabilities = worker.getCAPABILITIES_CONTROLLER().getMask() & ~BUILD_BELOW_MASK;
+            if (board.locationOfWorker(worker) != null
+                    && capabilities != (state.getWorkerCapabilities(w) & ~BUILD_BELOW_MASK)) {
+                throw mismatch(seed, turn, "capabilities of worker " + w);
+            }
+            if (board.locationOfWorker(worker) != null && board.getMobility(worker) != countMoves(board, worker)) {
+                throw mismatch(seed, turn, "mobility of worker " + w);
+            }
+        }
+        for (int player = 0; player < seats.size(); player++) {
+            boolean removed = !world.getPLAYERS().contains(seats.get(player));
+            if (removed != state.isEliminated(player)) {
+                throw mismatch(seed, turn, "removal of player " + seats.get(player).getID());
+            }
+            if (!removed && board.isTrapped(seats.get(player)) == state.hasLegalMove(player)) {
+                throw mismatch(seed, turn, "trapped player " + seats.get(player).getID());
+            }
+        }
+        boolean over = world.isGameOver() || world.getPLAYERS().size() <= 1;
+        if (over != state.isGameOver()) {
+            throw mismatch(seed, turn, "end of the game");
+        }
+        if (!over && (seats.indexOf(world.getCurrentPlayer()) != state.getCurrentPlayer()
+                || board.getZobristKey() != state.getKey())) {
+            throw mismatch(seed, turn, "player to move or position key");
+        }
+    }
+
+    /**
+     * Counts the locations a worker can move to by checking each exit.
+     *
+     * @param board the board
+     * @param worker the worker
+     * @return the number of exits the worker can travel to
+     */
+    private static int countMoves(Board board, Worker worker) {
+        int moves = 0;
+        for (Location exit : board.locationOfWorker(worker).getExits()) {
+            if (exit.canWorkerTravel(worker)) {
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Builds the error reporting a difference.
+     *
+     * @param seed the seed of the game
+     * @param turn the number of turns played
+     * @param what what differs
+     * @return the error
+     */
+    private static IllegalStateException mismatch(long seed, int turn, String what) {
+        return new IllegalStateException("Board and game state differ on " + what + " after turn " + turn
+                + " of the game with seed " + seed);
+    }
+
+    /**
+     * Replays random games and prints a summary, or fails at the first difference.
+     * Usage: RulesReplay [games=1000] [players=3] [seed=1] [map=file]
+     *
+     * @param args the number of games, the number of players, the seed of the first game and the map file
+     * @throws Exception if the map cannot be read, or an IllegalStateException at the first difference
+     */
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        URL mapPath = args.length > 3 ? new File(args[3]).toURI().toURL()
+                : RulesReplay.class.getResource("/resources/map.txt");
+
+        RulesReplay replay = new RulesReplay(mapPath, players);
+        for (int game = 0; game < games; game++) {
+            replay.replay(seed + game);
+        }
+        System.out.printf("%d games of %d players agree: %d turns, %d wins, %d players removed%n",
+                games, players, replay.turns, replay.wins, replay.eliminations);
+    }
+}
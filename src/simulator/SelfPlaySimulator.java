@@ -0,0 +1,338 @@
+package simulator;
+
+import ai.AlphaBetaBot;
+import ai.Bot;
+import ai.MctsBot;
+import ai.PositionCache;
+import ai.RandomBot;
+import board.Board;
+import engine.GameState;
+import engine.MoveGenerator;
+import game.World;
+import god.Artemis;
+import god.Demeter;
+import god.GodCard;
+import god.Zeus;
+import player.Player;
+import player.Worker;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays complete games between bots without any window or dialog, spread over a thread pool, and writes
+ * one line per game to a results file. Games are set up like GameController does, through
+ * World.initializeGame, and then played on a GameState.
+ * Each seat is played by the bot at its index in the bot list (repeated when the list is shorter):
+ * random, alphabeta:&lt;ms&gt;[:&lt;depth&gt;] or mcts:&lt;ms&gt;.
+ * Every game has its own SplittableRandom, seeded with the simulation seed plus the game index, from which the
+ * World dealing god cards and worker locations and each bot split their generators; no thread shares random state.
+ * A game is replayed bit-for-bit by simulating one game with its seed, as long as its bots are random or
+ * depth-limited: time-limited searches also depend on the speed of the machine.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class SelfPlaySimulator {
+    private static final int WORKERS_PER_PLAYER = 2;
+    private static final int SEARCH_CACHE_MB = 4;
+
+    private final URL MAP_PATH;
+    private final int PLAYERS;
+    private final List<String> GOD_CARDS;
+    private final List<String> BOTS;
+    private final int GAMES;
+    private final int THREADS;
+    private final long SEED;
+    private final ThreadLocal<PositionCache> CACHES = ThreadLocal.withInitial(() -> new PositionCache(SEARCH_CACHE_MB));
+    private final Map<Integer, Integer> WINS_BY_PLAYER = new TreeMap<>();
+    private final Map<String, Integer> WINS_BY_GOD = new TreeMap<>();
+    private final Map<String, Integer> GAMES_BY_GOD = new TreeMap<>();
+    private BufferedWriter writer;
+    private long totalTurns;
+
+    /**
+     * Constructor for the SelfPlaySimulator class.
+     *
+     * @param mapPath the map of every game
+     * @param players the number of players of every game
+     * @param godCards the god cards dealt at random in every game, by name: artemis, demeter or zeus
+     * @param bots the bot of each seat, repeated when shorter than the number of players
+     * @param games the number of games
+     * @param threads the number of games played at the same time
+     * @param seed the seed of the first game, the others using the following seeds
+     * @throws IllegalArgumentException if a god card or bot is unknown, or there is no bot
+     */
+    public SelfPlaySimulator(URL mapPath, int players, List<String> godCards, List<String> bots, int games, int threads,
+                             long seed) {
+        if (bots.isEmpty()) {
+            throw new IllegalArgumentException("A simulation needs at least one bot");
+        }
+        godCards.forEach(SelfPlaySimulator::godCard);
+        bots.forEach(SelfPlaySimulator::parseBot);
+        this.MAP_PATH = mapPath;
+        this.PLAYERS = players;
+        this.GOD_CARDS = List.copyOf(godCards);
+        this.BOTS = List.copyOf(bots);
+        this.GAMES = games;
+        this.THREADS = threads;
+        this.SEED = seed;
+    }
+
+    /**
+     * Plays every game and writes their records to a file, replacing it.
+     *
+     * @param output the results file
+     * @throws IOException if the file cannot be written or the map cannot be read
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public void run(Path output) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger nextGame = new AtomicInteger();
+        try (BufferedWriter out = Files.newBufferedWriter(output)) {
+            this.writer = out;
+            out.write(GameRecord.CSV_HEADER);
+            out.newLine();
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(pool.submit(() -> {
+                    for (int game = nextGame.getAndIncrement(); game < GAMES; game = nextGame.getAndIncrement()) {
+                        record(play(game));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            throw new IllegalStateException("Simulated game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Sets up and plays one game.
+     *
+     * @param game the index of the game
+     * @return the record of the game
+     * @throws Exception if the map cannot be read
+     */
+    private GameRecord play(int game) throws Exception {
+        long start = System.nanoTime();
+        long seed = SEED + game;
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Player> players = new ArrayList<>();
+        for (int id = 1; id <= PLAYERS; id++) {
+            Player player = new Player(id, null);
+            for (int i = 0; i < WORKERS_PER_PLAYER; i++) {
+                player.addWorker(new Worker(player));
+            }
+            players.add(player);
+        }
+        List<GodCard> godCards = new ArrayList<>();
+        for (String name : GOD_CARDS) {
+            godCards.add(godCard(name));
+        }
+        World world = new World(new Board(MAP_PATH, PLAYERS), null, random.split());
+        world.initializeGame(players, WORKERS_PER_PLAYER, godCards);
+        world.nextPlayer();
+        GameState state = world.snapshot();
+
+        Bot[] bots = new Bot[state.getPlayerCount()];
+        List<String> gods = new ArrayList<>();
+        for (int player = 0; player < bots.length; player++) {
+            bots[player] = newBot(BOTS.get(player % BOTS.size()), random.split());
+            gods.add(godName(state.getGodCard(player)));
+        }
+
+        // bots own the state they are given, so each one gets a copy
+        GameState view = new GameState(state);
+        int turns = 0;
+        while (!state.isGameOver()) {
+            view.copyFrom(state);
+            int[] turn = bots[state.getCurrentPlayer()].chooseTurn(view);
+            if (turn == null) {
+                state.eliminateCurrentPlayer();
+            } else {
+                state.playTurn(turn[MoveGenerator.WORKER], turn[MoveGenerator.MOVE], turn[MoveGenerator.SECOND_MOVE],
+                        turn[MoveGenerator.BUILD], turn[MoveGenerator.SECOND_BUILD]);
+            }
+            turns++;
+        }
+        for (Bot bot : bots) {
+            bot.shutdown();
+        }
+
+        int winner = state.getWinner();
+        return new GameRecord(game, seed, winner == GameState.NONE ? 0 : state.getPlayerId(winner),
+                winner == GameState.NONE ? "-" : godName(state.getGodCard(winner)), turns,
+                System.nanoTime() - start, gods);
+    }
+
+    /**
+     * Writes a game record and counts its result.
+     *
+     * @param record the record
+     * @throws UncheckedIOException if the record cannot be written
+     */
+    private synchronized void record(GameRecord record) {
+        try {
+            writer.write(record.toCsv());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        WINS_BY_PLAYER.merge(record.winnerId(), 1, Integer::sum);
+        if (record.winnerId() != 0) {
+            WINS_BY_GOD.merge(record.winnerGod(), 1, Integer::sum);
+        }
+        for (String god : record.gods()) {
+            GAMES_BY_GOD.merge(god, 1, Integer::sum);
+        }
+        totalTurns += record.turns();
+    }
+
+    /**
+     * Creates the bot of a seat.
+     *
+     * @param spec random, alphabeta:&lt;ms&gt;[:&lt;depth&gt;] or mcts:&lt;ms&gt;
+     * @param random the generator of the bot
+     * @return the bot
+     * @throws IllegalArgumentException if the bot is unknown
+     */
+    private Bot newBot(String spec, SplittableRandom random) {
+        String[] parts = parseBot(spec);
+        return switch (parts[0]) {
+            case "random" -> new RandomBot(random);
+            case "alphabeta" -> new AlphaBetaBot(Long.parseLong(parts[1]),
+                    parts.length > 2 ? Integer.parseInt(parts[2]) : AlphaBetaBot.DEFAULT_MAX_DEPTH, CACHES.get());
+            case "mcts" -> new MctsBot(Long.parseLong(parts[1]), 1, random);
+            default -> throw new IllegalArgumentException("Unknown bot: " + spec);
+        };
+    }
+
+    /**
+     * Checks a bot specification without creating the bot, which may allocate a cache or start threads.
+     *
+     * @param spec random, alphabeta:&lt;ms&gt;[:&lt;depth&gt;] or mcts:&lt;ms&gt;
+     * @return the lower-case parts of the specification, the name of the bot first
+     * @throws IllegalArgumentException if the bot is unknown or its numbers are missing or malformed
+     */
+    private static String[] parseBot(String spec) {
+        String[] parts = spec.toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (parts[0]) {
+                case "random" -> { }
+                case "alphabeta" -> {
+                    Long.parseLong(parts[1]);
+                    if (parts.length > 2) {
+                        Integer.parseInt(parts[2]);
+                    }
+                }
+                case "mcts" -> Long.parseLong(parts[1]);
+                default -> throw new IllegalArgumentException("Unknown bot: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Bad bot: " + spec + ", expected e.g. alphabeta:100 or mcts:100", e);
+        }
+        return parts;
+    }
+
+    /**
+     * Creates a god card from its name.
+     *
+     * @param name artemis, demeter or zeus
+     * @return the god card, without an image
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    private static GodCard godCard(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "artemis" -> new Artemis(null);
+            case "demeter" -> new Demeter(null);
+            case "zeus" -> new Zeus(null);
+            default -> throw new IllegalArgumentException("Unknown god card: " + name);
+        };
+    }
+
+    /**
+     * Returns the name of a god card for the results file.
+     *
+     * @param godCard the god card, or null
+     * @return the name, or "none"
+     */
+    private static String godName(GodCard godCard) {
+        return godCard == null ? "none" : godCard.getName();
+    }
+
+    /**
+     * Runs a simulation from command line options and prints its summary.
+     * Usage: SelfPlaySimulator [games=1000] [players=2] [bots=random] [gods=artemis,demeter,zeus]
+     * [map=file] [threads=cores] [seed=1] [out=selfplay.csv]
+     *
+     * @param args the options as name=value pairs; bots and gods are comma-separated and gods= alone deals none
+     * @throws Exception if the map cannot be read or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                System.out.println("Usage: [games=1000] [players=2] [bots=random,mcts:100] [gods=artemis,demeter,zeus]"
+                        + " [map=file] [threads=n] [seed=1] [out=selfplay.csv]");
+                return;
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        int games = Integer.parseInt(options.getOrDefault("games", "1000"));
+        int players = Integer.parseInt(options.getOrDefault("players", "2"));
+        List<String> bots = List.of(options.getOrDefault("bots", "random").split(","));
+        String godList = options.getOrDefault("gods", "artemis,demeter,zeus");
+        List<String> gods = godList.isEmpty() ? List.of() : List.of(godList.split(","));
+        URL mapPath = options.containsKey("map") ? new File(options.get("map")).toURI().toURL()
+                : SelfPlaySimulator.class.getResource("/resources/map.txt");
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        Path output = Path.of(options.getOrDefault("out", "selfplay.csv"));
+
+        SelfPlaySimulator simulator = new SelfPlaySimulator(mapPath, players, gods, bots, games, threads, seed);
+        long start = System.nanoTime();
+        simulator.run(output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games of %d players on %d threads in %.2f s: %.0f games/sec, %.0f games/hour, "
+                        + "%.1f turns per game%n", games, players, threads, seconds, games / seconds,
+                games * 3600 / seconds, (double) simulator.totalTurns / Math.max(games, 1));
+        simulator.WINS_BY_PLAYER.forEach((id, wins) -> System.out.printf("  %s: %d wins (%.1f%%)%n",
+                id == 0 ? "no winner" : "player " + id, wins, 100.0 * wins / games));
+        simulator.GAMES_BY_GOD.forEach((god, played) -> System.out.printf("  %s: %d wins in %d games (%.1f%%)%n",
+                god, simulator.WINS_BY_GOD.getOrDefault(god, 0), played,
+                100.0 * simulator.WINS_BY_GOD.getOrDefault(god, 0) / played));
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,249 @@
+package solver;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * An open-addressed hash map from encoded game states to small values, living outside the Java heap.
+ * States are fixed-width keys of KEY_WORDS longs, stored in one slot each with linear probing, so the store
+ * holds billions of states in a single memory segment that the garbage collector never scans or moves.
+ * The top byte of a key's first word is used by the store: it marks the slot as occupied and holds the value.
+ * The memory is allocated once, up front, and released on close. The store is not thread-safe.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class OffHeapStateStore implements AutoCloseable {
+    /**
+     * Value returned by get for a state not in the store.
+     */
+    public static final int ABSENT = -1;
+
+    /**
+     * Largest value a state can hold.
+     */
+    public static final int MAX_VALUE = 0x7F;
+
+    /**
+     * Bits of a key's first word available to the state encoding.
+     */
+    public static final int FIRST_WORD_BITS = 56;
+
+    private static final long OCCUPIED = 1L << 63;
+    private static final long FIRST_WORD_MASK = (1L << FIRST_WORD_BITS) - 1;
+    private static final double MAX_LOAD = 0.75;
+
+    private final Arena ARENA;
+    private final MemorySegment SLOTS;
+    private final int KEY_WORDS;
+    private final long SLOT_BYTES;
+    private final long SLOT_MASK;
+    private final long MAX_SIZE;
+    private long size;
+
+    /**
+     * Constructor for the OffHeapStateStore class.
+     *
+     * @param bytes the memory the store may use, rounded down to a power of two number of slots
+     * @param keyWords the number of longs of a key
+     * @throws IllegalArgumentException if the memory cannot hold a single slot
+     */
+    public OffHeapStateStore(long bytes, int keyWords) {
+        long slotBytes = (long) keyWords * Long.BYTES;
+        if (keyWords <= 0 || bytes < slotBytes) {
+            throw new IllegalArgumentException("A store of " + bytes + " bytes cannot hold keys of " + keyWords + " words");
+        }
+        long slots = Long.highestOneBit(bytes / slotBytes);
+        this.KEY_WORDS = keyWords;
+        this.SLOT_BYTES = slotBytes;
+        this.SLOT_MASK = slots - 1;
+        this.MAX_SIZE = (long) (slots * MAX_LOAD);
+        this.ARENA = Arena.ofShared();
+        // newly allocated memory is zeroed, i.e. every slot is empty
+        this.SLOTS = ARENA.allocate(slots * slotBytes, Long.BYTES);
+    }
+
+    /**
+     * Adds a state with value 0 unless it is already stored.
+     *
+     * @param key the encoded state
+     * @return true if the state was not stored yet
+     * @throws IllegalStateException if the store is full
+     */
+    public boolean add(long[] key) {
+        long slot = find(key);
+        if (slot >= 0) {
+            return false;
+        }
+        insert(-slot - 1, key, 0);
+        return true;
+    }
+
+    /**
+     * Stores the value of a state, replacing any value it had.
+     *
+     * @param key the encoded state
+     * @param value the value, 0 to MAX_VALUE
+     * @return true if the state was not stored yet
+     * @throws IllegalArgumentException if the value is out of range
+     * @throws IllegalStateException if the store is full
+     */
+    public boolean put(long[] key, int value) {
+        if (value < 0 || value > MAX_VALUE) {
+            throw new IllegalArgumentException("Value " + value + " is out of range");
+        }
+        long slot = find(key);
+        if (slot >= 0) {
+            SLOTS.set(ValueLayout.JAVA_LONG, slot * SLOT_BYTES, firstWord(key, value));
+            return false;
+        }
+        insert(-slot - 1, key, value);
+        return true;
+    }
+
+    /**
+     * Looks up the value of a state.
+     *
+     * @param key the encoded state
+     * @return the value of the state, or ABSENT if it is not stored
+     */
+    public int get(long[] key) {
+        long slot = find(key);
+        if (slot < 0) {
+            return ABSENT;
+        }
+        return (int) (SLOTS.get(ValueLayout.JAVA_LONG, slot * SLOT_BYTES) >>> FIRST_WORD_BITS) & MAX_VALUE;
+    }
+
+    /**
+     * Accessor for the number of states stored.
+     *
+     * @return the size
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Accessor for the number of states the store accepts before it is full.
+     *
+     * @return the maximum size
+     */
+    public long getMaxSize() {
+        return MAX_SIZE;
+    }
+
+    /**
+     * Accessor for the off-heap memory held by the store.
+     *
+     * @return the size in bytes
+     */
+    public long getByteSize() {
+        return SLOTS.byteSize();
+    }
+
+    /**
+     * Accessor for the number of longs of a key.
+     *
+     * @return the key width
+     */
+    public int getKEY_WORDS() {
+        return KEY_WORDS;
+    }
+
+    /**
+     * Releases the off-heap memory. The store cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        ARENA.close();
+    }
+
+    /**
+     * Finds the slot of a state.
+     *
+     * @param key the encoded state
+     * @return the slot holding the state, or -(slot + 1) for the empty slot where it would be inserted
+     * @throws IllegalArgumentException if the key has the wrong width or uses the top byte of its first word
+     */
+    private long find(long[] key) {
+        if (key.length != KEY_WORDS || (key[0] & ~FIRST_WORD_MASK) != 0) {
+            throw new IllegalArgumentException("Key does not fit the store");
+        }
+        long slot = hash(key) & SLOT_MASK;
+        while (true) {
+            long offset = slot * SLOT_BYTES;
+            long first = SLOTS.get(ValueLayout.JAVA_LONG, offset);
+            if (first == 0) {
+                return -slot - 1;
+            }
+            if ((first & FIRST_WORD_MASK) == key[0] && restEquals(offset, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & SLOT_MASK;
+        }
+    }
+
+    /**
+     * Writes a state into an empty slot.
+     *
+     * @param slot the empty slot
+     * @param key the encoded state
+     * @param value the value of the state
+     * @throws IllegalStateException if the store is full
+     */
+    private void insert(long slot, long[] key, int value) {
+        if (size >= MAX_SIZE) {
+            throw new IllegalStateException("Visited-state store is full at " + size + " states, give it more memory");
+        }
+        long offset = slot * SLOT_BYTES;
+        for (int word = 1; word < KEY_WORDS; word++) {
+            SLOTS.set(ValueLayout.JAVA_LONG, offset + (long) word * Long.BYTES, key[word]);
+        }
+        SLOTS.set(ValueLayout.JAVA_LONG, offset, firstWord(key, value));
+        size++;
+    }
+
+    /**
+     * Compares the words of a key after the first one with a slot.
+     *
+     * @param offset the byte offset of the slot
+     * @param key the encoded state
+     * @return true if the slot holds the same words
+     */
+    private boolean restEquals(long offset, long[] key) {
+        for (int word = 1; word < KEY_WORDS; word++) {
+            if (SLOTS.get(ValueLayout.JAVA_LONG, offset + (long) word * Long.BYTES) != key[word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the stored first word of a slot: the key's first word, the occupied mark and the value.
+     *
+     * @param key the encoded state
+     * @param value the value of the state
+     * @return the first word to store
+     */
+    private static long firstWord(long[] key, int value) {
+        return key[0] | OCCUPIED | ((long) value << FIRST_WORD_BITS);
+    }
+
+    /**
+     * Hashes a key, mixing every word into every bit.
+     *
+     * @param key the encoded state
+     * @return the hash
+     */
+    private static long hash(long[] key) {
+        long h = 0;
+        for (long word : key) {
+            h = (h ^ word) * 0x9E37_79B9_7F4A_7C15L;
+            h ^= h >>> 32;
+        }
+        return h ^ (h >>> 29);
+    }
+}
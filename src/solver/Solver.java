@@ -0,0 +1,313 @@
+package solver;
+
+import board.Board;
+import engine.GameState;
+import engine.MoveGenerator;
+import player.Player;
+import player.Worker;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Exhaustive solver of two-player games on small boards.
+ * Every tower only grows, so a game cannot repeat a position and the game tree is finite; the solver walks it
+ * depth-first and remembers the value of every position it solved in an OffHeapStateStore, so each position
+ * reached through different turn orders is solved once.
+ * Values are for the player to move: WIN, DRAW (both players trapped at once) or LOSS.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class Solver {
+    /**
+     * The player to move loses.
+     */
+    public static final int LOSS = 1;
+
+    /**
+     * Neither player can win.
+     */
+    public static final int DRAW = 2;
+
+    /**
+     * The player to move wins.
+     */
+    public static final int WIN = 3;
+
+    private static final int DEFAULT_STORE_MB = 1024;
+    private static final int PLAYERS = 2;
+    private static final int WORKERS_PER_PLAYER = 2;
+
+    private final OffHeapStateStore STORE;
+    private final StateCodec CODEC;
+    private final MoveGenerator GENERATOR = new MoveGenerator();
+    private final List<GameState> STATES = new ArrayList<>();
+    private final List<int[]> TURNS = new ArrayList<>();
+    private final List<long[]> KEYS = new ArrayList<>();
+    private final int TURN_CAPACITY;
+    private long hits;
+
+    /**
+     * Constructor for the Solver class.
+     *
+     * @param root any game state of the board and players to solve
+     * @param store the store remembering solved positions, with keys as wide as the codec of the root
+     * @throws IllegalArgumentException if the game does not have two players or the store has the wrong key width
+     */
+    public Solver(GameState root, OffHeapStateStore store) {
+        if (root.getPlayerCount() != PLAYERS) {
+            throw new IllegalArgumentException("The solver only handles two-player games");
+        }
+        this.CODEC = new StateCodec(root);
+        if (store.getKEY_WORDS() != CODEC.getWORDS()) {
+            throw new IllegalArgumentException("The store keys must be " + CODEC.getWORDS() + " words wide");
+        }
+        this.STORE = store;
+        this.TURN_CAPACITY = MoveGenerator.capacityFor(root);
+        this.STATES.add(new GameState(root));
+    }
+
+    /**
+     * Solves a game state.
+     *
+     * @param state the game state, not over yet; a copy of the root or of another state of the solver's game
+     * @return the value of the state for the player to move: WIN, DRAW or LOSS
+     * @throws IllegalStateException if the store fills up
+     */
+    public int solve(GameState state) {
+        stateAt(0).copyFrom(state);
+        return solve(0);
+    }
+
+    /**
+     * Accessor for the number of positions solved, i.e. stored.
+     *
+     * @return the number of solved positions
+     */
+    public long getSolvedCount() {
+        return STORE.size();
+    }
+
+    /**
+     * Accessor for the number of positions found already solved.
+     *
+     * @return the number of store hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Counts the distinct positions reachable from a game state within a number of turns, finished games included,
+     * without solving them. The visited states are kept by the given set, so that stores can be compared on the
+     * same walk. Without god cards every turn builds one block, so all paths to a position have the same length
+     * and the count is exact.
+     *
+     * @param root the game state to start from
+     * @param maxDepth the number of turns to look ahead
+     * @param visit adds an encoded state to a visited set and returns true if it was not visited yet;
+     *              the key buffer is reused afterwards, so sets keeping it must copy it
+     * @return the number of distinct positions
+     */
+    public static long explore(GameState root, int maxDepth, Predicate<long[]> visit) {
+        StateCodec codec = new StateCodec(root);
+        long[] key = codec.newKey();
+        MoveGenerator generator = new MoveGenerator();
+        int capacity = MoveGenerator.capacityFor(root);
+        List<GameState> states = new ArrayList<>();
+        List<int[]> turns = new ArrayList<>();
+        states.add(new GameState(root));
+        return explore(0, maxDepth, states, turns, capacity, generator, codec, key, visit);
+    }
+
+    /**
+     * Solves the game state of a depth.
+     *
+     * @param depth the depth, i.e. the number of turns played from the root
+     * @return the value of the state for the player to move
+     */
+    private int solve(int depth) {
+        GameState state = STATES.get(depth);
+        long[] key = keyAt(depth);
+        CODEC.encode(state, key);
+        int value = STORE.get(key);
+        if (value != OffHeapStateStore.ABSENT) {
+            hits++;
+            return value;
+        }
+
+        int[] buffer = turnsAt(depth);
+        int count = GENERATOR.generate(state, buffer);
+        int mover = state.getCurrentPlayer();
+        // a player with no complete turn loses, like picking a worker that can't move
+        int best = LOSS;
+        for (int i = 0; i < count && best != WIN; i++) {
+            if (buffer[i * MoveGenerator.TURN_SIZE + MoveGenerator.BUILD] == GameState.NONE) {
+                best = WIN;
+            }
+        }
+        for (int i = 0; i < count && best != WIN; i++) {
+            GameState child = stateAt(depth + 1);
+            child.copyFrom(state);
+            GENERATOR.play(child, buffer, i);
+            int childValue;
+            if (child.isGameOver()) {
+                int winner = child.getWinner();
+                childValue = winner == mover ? WIN : winner == GameState.NONE ? DRAW : LOSS;
+            } else {
+                // the opponent moves next, its win is our loss
+                childValue = WIN + LOSS - solve(depth + 1);
+            }
+            best = Math.max(best, childValue);
+        }
+        // the key buffer of this depth is untouched by the deeper searches
+        STORE.put(key, best);
+        return best;
+    }
+
+    /**
+     * Walks the positions below a depth, adding each to the visited set.
+     *
+     * @param depth the depth of the position
+     * @param maxDepth the depth of the positions that are not expanded
+     * @param states the per-depth game states
+     * @param turns the per-depth turn buffers
+     * @param capacity the size of a turn buffer
+     * @param generator the move generator
+     * @param codec the state codec
+     * @param key the key buffer
+     * @param visit the visited set
+     * @return the number of new positions found, this one included
+     */
+    private static long explore(int depth, int maxDepth, List<GameState> states, List<int[]> turns, int capacity,
+                                MoveGenerator generator, StateCodec codec, long[] key, Predicate<long[]> visit) {
+        GameState state = states.get(depth);
+        codec.encode(state, key);
+        if (!visit.test(key)) {
+            return 0;
+        }
+        if (state.isGameOver() || depth == maxDepth) {
+            return 1;
+        }
+        if (turns.size() == depth) {
+            turns.add(new int[capacity]);
+            states.add(new GameState(state));
+        }
+        int[] buffer = turns.get(depth);
+        int count = generator.generate(state, buffer);
+        long found = 1;
+        for (int i = 0; i < count; i++) {
+            GameState child = states.get(depth + 1);
+            child.copyFrom(state);
+            generator.play(child, buffer, i);
+            found += explore(depth + 1, maxDepth, states, turns, capacity, generator, codec, key, visit);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the game state of a depth, creating it on first use.
+     *
+     * @param depth the depth
+     * @return the game state of the depth
+     */
+    private GameState stateAt(int depth) {
+        while (STATES.size() <= depth) {
+            // copies of the root share its layout, so they can be copied into
+            STATES.add(new GameState(STATES.getFirst()));
+        }
+        return STATES.get(depth);
+    }
+
+    /**
+     * Returns the turn buffer of a depth, creating it on first use.
+     *
+     * @param depth the depth
+     * @return the turn buffer of the depth
+     */
+    private int[] turnsAt(int depth) {
+        while (TURNS.size() <= depth) {
+            TURNS.add(new int[TURN_CAPACITY]);
+        }
+        return TURNS.get(depth);
+    }
+
+    /**
+     * Returns the key buffer of a depth, creating it on first use.
+     *
+     * @param depth the depth
+     * @return the key buffer of the depth
+     */
+    private long[] keyAt(int depth) {
+        while (KEYS.size() <= depth) {
+            KEYS.add(CODEC.newKey());
+        }
+        return KEYS.get(depth);
+    }
+
+    /**
+     * Sets up the starting position of a map for two players with two workers each.
+     *
+     * @param mapPath the map file
+     * @param workerCells the cells of the workers in player order, or an empty array to spread them over the board
+     * @return the game state of the starting position, without god cards
+     * @throws Exception if the map cannot be read
+     */
+    public static GameState startingPosition(URL mapPath, int[] workerCells) throws Exception {
+        Board board = new Board(mapPath, PLAYERS);
+        List<Player> players = new ArrayList<>();
+        List<Worker> workers = new ArrayList<>();
+        for (int id = 1; id <= PLAYERS; id++) {
+            Player player = new Player(id, null);
+            for (int i = 0; i < WORKERS_PER_PLAYER; i++) {
+                Worker worker = new Worker(player);
+                player.addWorker(worker);
+                workers.add(worker);
+            }
+            players.add(player);
+        }
+        for (int i = 0; i < workers.size(); i++) {
+            int cell = workerCells.length > 0 ? workerCells[i] : i * board.getCellCount() / workers.size();
+            board.locationAt(cell).addWorker(workers.get(i));
+        }
+        return GameState.of(board, players, null);
+    }
+
+    /**
+     * Solves the starting position of a map and reports the solving speed and memory use.
+     * Usage: Solver &lt;map file&gt; [store MB] [worker cells...]
+     *
+     * @param args the map file, the store size in MB (1024 by default) and optionally the four worker cells
+     * @throws Exception if the map cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: Solver <map file> [store MB] [worker cells...]");
+            return;
+        }
+        URL mapPath = new File(args[0]).toURI().toURL();
+        long storeBytes = (args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_STORE_MB) * 1024 * 1024;
+        int[] workerCells = Arrays.stream(args).skip(2).mapToInt(Integer::parseInt).toArray();
+
+        GameState root = startingPosition(mapPath, workerCells);
+        try (OffHeapStateStore store = new OffHeapStateStore(storeBytes, new StateCodec(root).getWORDS())) {
+            Solver solver = new Solver(root, store);
+            long start = System.nanoTime();
+            int value = solver.solve(root);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            String outcome = value == WIN ? "first player wins" : value == LOSS ? "second player wins" : "draw";
+            System.out.println(args[0] + ": " + outcome);
+            System.out.printf("%d states solved (%d found again) in %.2f s, %.0f states/sec%n",
+                    solver.getSolvedCount(), solver.getHits(), seconds, solver.getSolvedCount() / seconds);
+            System.out.printf("%d bytes per state stored, %.1f bytes per state of off-heap memory, %.1f%% full%n",
+                    store.getKEY_WORDS() * Long.BYTES, (double) store.getByteSize() / solver.getSolvedCount(),
+                    100.0 * solver.getSolvedCount() / store.getMaxSize());
+        }
+    }
+}
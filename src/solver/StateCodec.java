@@ -0,0 +1,110 @@
+package solver;
+
+import engine.GameState;
+
+/**
+ * Encodes game states exactly into fixed-width keys for the OffHeapStateStore.
+ * A key packs every cell's ground (level, or 4 for a dome), the cell of every worker (0 once removed)
+ * and the player to move. Worker capabilities follow from the level they stand on, so they need no bits.
+ * The first word only uses its low OffHeapStateStore.FIRST_WORD_BITS bits.
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class StateCodec {
+    private static final int GROUND_BITS = 3;
+
+    private final int CELL_COUNT;
+    private final int WORKER_COUNT;
+    private final int WORKER_BITS;
+    private final int PLAYER_BITS;
+    private final int WORDS;
+
+    /**
+     * Constructor for the StateCodec class, for the states of one board and set of players.
+     *
+     * @param layout any game state of the board and players
+     */
+    public StateCodec(GameState layout) {
+        this.CELL_COUNT = layout.getCellCount();
+        this.WORKER_COUNT = layout.getWorkerCount();
+        this.WORKER_BITS = bitsFor(CELL_COUNT + 1);
+        this.PLAYER_BITS = bitsFor(layout.getPlayerCount());
+        long bits = (long) CELL_COUNT * GROUND_BITS + (long) WORKER_COUNT * WORKER_BITS + PLAYER_BITS;
+        this.WORDS = 1 + (int) ((Math.max(bits - OffHeapStateStore.FIRST_WORD_BITS, 0) + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Accessor for the width of a key.
+     *
+     * @return the number of longs of a key
+     */
+    public int getWORDS() {
+        return WORDS;
+    }
+
+    /**
+     * Returns a key buffer of the right width.
+     *
+     * @return a new key buffer
+     */
+    public long[] newKey() {
+        return new long[WORDS];
+    }
+
+    /**
+     * Encodes a game state.
+     *
+     * @param state the game state, of the board and players the codec was made for
+     * @param key the key buffer receiving the encoding
+     */
+    public void encode(GameState state, long[] key) {
+        for (int word = 0; word < WORDS; word++) {
+            key[word] = 0;
+        }
+        int bit = 0;
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            int ground = state.hasDome(cell) ? GameState.MAX_LEVEL + 1 : state.getLevel(cell);
+            bit = put(key, bit, ground, GROUND_BITS);
+        }
+        for (int worker = 0; worker < WORKER_COUNT; worker++) {
+            bit = put(key, bit, state.getWorkerCell(worker) + 1, WORKER_BITS);
+        }
+        put(key, bit, state.getCurrentPlayer(), PLAYER_BITS);
+    }
+
+    /**
+     * Writes a field into a key at a bit position of the encoding.
+     *
+     * @param key the key buffer
+     * @param bit the position of the field in the encoding
+     * @param value the field value
+     * @param width the number of bits of the field
+     * @return the position following the field
+     */
+    private static int put(long[] key, int bit, long value, int width) {
+        for (int i = 0; i < width; i++) {
+            if ((value & (1L << i)) != 0) {
+                int position = bit + i;
+                // the first word keeps its top bits free for the store
+                if (position < OffHeapStateStore.FIRST_WORD_BITS) {
+                    key[0] |= 1L << position;
+                } else {
+                    position -= OffHeapStateStore.FIRST_WORD_BITS;
+                    key[1 + position / Long.SIZE] |= 1L << (position % Long.SIZE);
+                }
+            }
+        }
+        return bit + width;
+    }
+
+    /**
+     * Returns the number of bits holding the values 0 to count - 1.
+     *
+     * @param count the number of values
+     * @return the number of bits, at least 1
+     */
+    private static int bitsFor(int count) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(count - 1));
+    }
+}
@@ -0,0 +1,136 @@
+package solver;
+
+import engine.GameState;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Compares the OffHeapStateStore with an on-heap HashSet as the visited set of the same state-space walk,
+ * reporting speed, garbage collections and GC time, and the heap left in use by each.
+ * Run it with a heap large enough for the HashSet and direct memory large enough for the store, e.g.
+ * java -Xmx3g -XX:MaxDirectMemorySize=2g solver.VisitedStoreBenchmark map4x4.txt 6 1024
+ *
+ * @author King Jian Rong
+ * @version 1.0
+ */
+public class VisitedStoreBenchmark {
+
+    /**
+     * Constructor for the VisitedStoreBenchmark class.
+     * This constructor is private to prevent instantiation,
+     */
+    private VisitedStoreBenchmark() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Runs the comparison.
+     * Usage: VisitedStoreBenchmark &lt;map file&gt; &lt;turns&gt; [store MB]
+     *
+     * @param args the map file, the number of turns to walk and the size of the off-heap store in MB (512 by default)
+     * @throws Exception if the map cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: VisitedStoreBenchmark <map file> <turns> [store MB]");
+            return;
+        }
+        GameState root = Solver.startingPosition(new File(args[0]).toURI().toURL(), new int[0]);
+        int turns = Integer.parseInt(args[1]);
+        long storeBytes = (args.length > 2 ? Long.parseLong(args[2]) : 512) * 1024 * 1024;
+        int keyWords = new StateCodec(root).getWORDS();
+
+        try (OffHeapStateStore store = new OffHeapStateStore(storeBytes, keyWords)) {
+            run("off-heap store", root, turns, store::add);
+            System.out.printf("  off-heap memory %d MB, %.1f bytes per state%n",
+                    store.getByteSize() >> 20, (double) store.getByteSize() / store.size());
+        }
+
+        Set<StateKey> visited = new HashSet<>();
+        run("on-heap HashSet", root, turns, key -> visited.add(new StateKey(key.clone())));
+        visited.clear();
+    }
+
+    /**
+     * Walks the state space with one visited set and prints its statistics.
+     *
+     * @param name the name of the visited set
+     * @param root the starting position
+     * @param turns the number of turns to walk
+     * @param visit the visited set
+     */
+    private static void run(String name, GameState root, int turns, Predicate<long[]> visit) {
+        System.gc();
+        long collections = collectionCount();
+        long gcMillis = collectionMillis();
+        long start = System.nanoTime();
+        long states = Solver.explore(root, turns, visit);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        System.out.printf("%s: %d states in %.2f s, %.0f states/sec%n", name, states, seconds, states / seconds);
+        System.out.printf("  %d collections, %d ms in GC, %d MB of heap in use%n",
+                collectionCount() - collections, collectionMillis() - gcMillis, heapUsed >> 20);
+    }
+
+    /**
+     * Sums the collection counts of every garbage collector.
+     *
+     * @return the number of collections so far
+     */
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    /**
+     * Sums the collection times of every garbage collector.
+     *
+     * @return the time spent collecting so far, in milliseconds
+     */
+    private static long collectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    /**
+     * An encoded state as a HashSet element.
+     *
+     * @param words the encoded state, owned by the key
+     */
+    private record StateKey(long[] words) {
+
+        /**
+         * Compares the encoded states.
+         *
+         * @param other the other object
+         * @return true if both keys hold the same state
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StateKey key && Arrays.equals(words, key.words);
+        }
+
+        /**
+         * Hashes the encoded state.
+         *
+         * @return the hash code
+         */
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+    }
+}
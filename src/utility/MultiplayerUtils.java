@@ -58,6 +58,42 @@ public final class MultiplayerUtils {
         return numPlayers;
     }
 
+    /**
+     * Asks the user how many of the players are played by the computer.
+     * Validates that the number is between 0 and the number of players.
+     *
+     * @param numPlayers The number of players in the game.
+     * @return The number of computer players, or -1 if the user cancels the input.
+     */
+    public static int askComputerPlayerNumber(int numPlayers) {
+        int numComputerPlayers = -1;
+        while (numComputerPlayers < 0 || numComputerPlayers > numPlayers) {
+            String input = JOptionPane.showInputDialog(
+                    null,
+                    "Enter number of computer players between 0 and " + numPlayers + ":",
+                    "Computer Players",
+                    JOptionPane.QUESTION_MESSAGE
+            );
+
+            if (input == null) {
+                JOptionPane.showMessageDialog(null, "Game canceled.");
+                return -1; // Exit if user cancels
+            }
+
+            try {
+                numComputerPlayers = Integer.parseInt(input);
+                if (numComputerPlayers < 0 || numComputerPlayers > numPlayers) {
+                    JOptionPane.showMessageDialog(null,
+                            "Please enter a number between 0 and " + numPlayers + ".");
+                }
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(null, "Invalid input. Please enter a number.");
+            }
+        }
+
+        return numComputerPlayers;
+    }
+
 
 
 }